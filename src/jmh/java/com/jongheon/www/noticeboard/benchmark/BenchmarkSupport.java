@@ -0,0 +1,58 @@
+package com.jongheon.www.noticeboard.benchmark;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import org.mockito.stubbing.Answer;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 벤치마크에서 Spring 컨텍스트와 DB 없이 컴포넌트를 조립하기 위한 도구
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    // @Autowired, @Value 필드를 직접 채운다
+    static void setField(final Object target, final String name, final Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " on " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    // members를 저장소로 쓰는 MemberRepository, 호출 기록을 남기지 않아 반복해도 메모리가 늘지 않는다
+    // findById, existsById, save, saveAndFlush, delete, deleteById 외의 메서드는 빈 값을 반환한다
+    static MemberRepository memberRepository(final Map<String, Member> members) {
+        MemberRepository memberRepository = mock(MemberRepository.class, withSettings().stubOnly());
+        when(memberRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(members.get(invocation.<String>getArgument(0))));
+        when(memberRepository.existsById(anyString()))
+                .thenAnswer(invocation -> members.containsKey(invocation.<String>getArgument(0)));
+        Answer<Member> save = invocation -> {
+            Member member = invocation.getArgument(0);
+            members.put(member.getMemberId(), member);
+            return member;
+        };
+        when(memberRepository.save(any(Member.class))).thenAnswer(save);
+        when(memberRepository.saveAndFlush(any(Member.class))).thenAnswer(save);
+        doAnswer(invocation -> members.remove(invocation.<Member>getArgument(0).getMemberId()))
+                .when(memberRepository).delete(any(Member.class));
+        doAnswer(invocation -> members.remove(invocation.<String>getArgument(0)))
+                .when(memberRepository).deleteById(anyString());
+        return memberRepository;
+    }
+}
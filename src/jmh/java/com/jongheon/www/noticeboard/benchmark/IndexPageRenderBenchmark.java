@@ -0,0 +1,56 @@
+package com.jongheon.www.noticeboard.benchmark;
+
+import com.jongheon.www.noticeboard.view.IndexPageRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * index 페이지 한 번을 렌더링하는 시간
+ * shellCache=false는 매번 전체 렌더링(이전 방식), true는 캐시한 shell에 회원 메뉴만 렌더링하여 끼워 넣는다.
+ * 두 경우 모두 템플릿 파싱 결과는 캐시한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexPageRenderBenchmark {
+
+    @Param({"false", "true"})
+    private boolean shellCache;
+
+    private IndexPageRenderer indexPageRenderer;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        indexPageRenderer = new IndexPageRenderer();
+        BenchmarkSupport.setField(indexPageRenderer, "templateEngine", templateEngine);
+        BenchmarkSupport.setField(indexPageRenderer, "cache", shellCache);
+
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String renderIndex() {
+        return indexPageRenderer.render(request, response, "name");
+    }
+}
@@ -0,0 +1,70 @@
+package com.jongheon.www.noticeboard.benchmark;
+
+import com.jongheon.www.noticeboard.cache.MemberCache;
+import com.jongheon.www.noticeboard.cache.MemberIdFilter;
+import com.jongheon.www.noticeboard.cache.MemberWriteBehind;
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 확인과 실패 횟수 변경이 동시에 일어날 때의 MemberCache 처리량
+ * login 그룹은 같은 회원들에 대해 확인 3 스레드, 실패 횟수 변경 1 스레드로 경쟁한다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberCacheBenchmark {
+
+    private static final int MEMBER_CNT = 1024;
+
+    private static final String password = "encryptedPassword";
+
+    private MemberCache memberCache;
+
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        Map<String, Member> members = new ConcurrentHashMap<>();
+        ids = new String[MEMBER_CNT];
+        for (int i = 0; i < MEMBER_CNT; i++) {
+            ids[i] = "member" + i + "@naver.com";
+            members.put(ids[i], Member.builder().memberId(ids[i]).name("name").password(password).loginFailCnt(0).build());
+        }
+
+        MemberWriteBehind memberWriteBehind = new MemberWriteBehind();
+        BenchmarkSupport.setField(memberWriteBehind, "batchSize", Integer.MAX_VALUE);
+
+        memberCache = new MemberCache();
+        BenchmarkSupport.setField(memberCache, "maximumSize", (long) MEMBER_CNT);
+        BenchmarkSupport.setField(memberCache, "memberRepository", BenchmarkSupport.memberRepository(members));
+        BenchmarkSupport.setField(memberCache, "memberWriteBehind", memberWriteBehind);
+        BenchmarkSupport.setField(memberCache, "memberIdFilter", new MemberIdFilter());
+        memberCache.cachePostConstruct();
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(MEMBER_CNT)];
+    }
+
+    @Benchmark
+    @Group("login")
+    @GroupThreads(3)
+    public boolean isRightLoginInfo() {
+        return memberCache.isRightLoginInfo(randomId(), password::equals);
+    }
+
+    @Benchmark
+    @Group("login")
+    @GroupThreads(1)
+    public void addLoginFailCnt() {
+        String id = randomId();
+        memberCache.addLoginFailCnt(id);
+        memberCache.resetLoginFailCnt(id);
+    }
+}
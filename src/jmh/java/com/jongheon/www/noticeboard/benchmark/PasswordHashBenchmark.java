@@ -0,0 +1,42 @@
+package com.jongheon.www.noticeboard.benchmark;
+
+import com.jongheon.www.noticeboard.cipher.PBKDF2;
+import com.jongheon.www.noticeboard.cipher.SHA256;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordHashBenchmark {
+
+    private static final String msg = "memberId@naver.compassword";
+
+    private SHA256 sha256;
+
+    private PBKDF2 pbkdf2;
+
+    private String pbkdf2Encrypted;
+
+    @Setup
+    public void setup() {
+        sha256 = new SHA256();
+        pbkdf2 = new PBKDF2();
+        BenchmarkSupport.setField(pbkdf2, "iterations", 120000);
+        pbkdf2Encrypted = pbkdf2.Encrypt(msg).get();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<String> sha256Encrypt() {
+        return sha256.Encrypt(msg);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean pbkdf2Matches() {
+        return pbkdf2.matches(msg, pbkdf2Encrypted);
+    }
+}
@@ -0,0 +1,46 @@
+package com.jongheon.www.noticeboard.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.entity.Post;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+
+    private Post post;
+
+    private PostResponseDto postResponseDto;
+
+    @Setup
+    public void setup() {
+        // 애플리케이션과 같은 설정의 ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        String content = "c".repeat(contentLength);
+        post = Post.builder().id(1L).title("title").content(content).createdAt(now).lastUpdatedAt(now).build();
+        postResponseDto = new PostResponseDto(1L, now, now, "title", content, 0L);
+    }
+
+    @Benchmark
+    public String serializePost() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(post);
+    }
+
+    @Benchmark
+    public String serializePostResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(postResponseDto);
+    }
+}
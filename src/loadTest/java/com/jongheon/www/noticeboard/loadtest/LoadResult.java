@@ -0,0 +1,104 @@
+package com.jongheon.www.noticeboard.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 응답 시간 HDR histogram
+ * latency는 요청을 보냈어야 하는 시각(일정한 간격)부터 응답까지의 시간이므로,
+ * 서버가 밀려 요청이 늦게 나간 시간까지 포함한다(coordinated omission 보정).
+ * service는 실제로 보낸 시각부터 응답까지의 시간으로, 비교를 위해 함께 남긴다.
+ */
+final class LoadResult {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<Operation, Histogram> latency = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Histogram> service = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadResult() {
+        for (Operation operation : Operation.values()) {
+            latency.put(operation, new ConcurrentHistogram(3));
+            service.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(final Operation operation, final long latencyNanos, final long serviceNanos, final boolean success) {
+        latency.get(operation).recordValue(latencyNanos);
+        service.get(operation).recordValue(serviceNanos);
+        if (!success) errors.get(operation).increment();
+    }
+
+    /**
+     * 결과를 출력하고 histogram을 reportDir/<operation>.hgrm 으로 남긴다.
+     *
+     * @return 넘은 기준(threshold) 목록, 비어 있으면 통과
+     */
+    List<String> report(final Scenario scenario, final PrintStream out, final Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = scenario.duration.toMillis() / 1000.0;
+        List<String> violations = new ArrayList<>();
+
+        out.printf("%nScenario %s: %d req/s for %ds after %ds warm-up%n",
+                scenario.name, scenario.ratePerSecond, scenario.duration.getSeconds(), scenario.warmup.getSeconds());
+        out.printf("%-12s %8s %8s %9s %9s %9s %9s %9s %12s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "svc p99 ms");
+
+        long totalCount = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latency.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) continue;
+            totalCount += count;
+
+            double errorRate = (double) errors.get(operation).sum() / count;
+            double p99 = millis(histogram.getValueAtPercentile(99.0));
+            double p999 = millis(histogram.getValueAtPercentile(99.9));
+            out.printf("%-12s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    operation.key, count, errors.get(operation).sum(), count / seconds,
+                    millis(histogram.getValueAtPercentile(50.0)), p99, p999, millis(histogram.getMaxValue()),
+                    millis(service.get(operation).getValueAtPercentile(99.0)));
+
+            check(violations, operation.key + " p99", p99, scenario.threshold(operation, "p99-ms"));
+            check(violations, operation.key + " p999", p999, scenario.threshold(operation, "p999-ms"));
+            check(violations, operation.key + " error rate", errorRate, scenario.threshold(operation, "error-rate"));
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDir.resolve(operation.key + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+
+        double throughput = totalCount / seconds;
+        out.printf("total %.1f req/s%n", throughput);
+        Double minThroughput = scenario.threshold("min-throughput");
+        if (minThroughput != null && throughput < minThroughput) {
+            violations.add(String.format("throughput %.1f req/s < %.1f", throughput, minThroughput));
+        }
+        return violations;
+    }
+
+    private static void check(final List<String> violations, final String name, final double value, final Double threshold) {
+        if (threshold != null && value > threshold) {
+            violations.add(String.format("%s %.3f > %.3f", name, value, threshold));
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
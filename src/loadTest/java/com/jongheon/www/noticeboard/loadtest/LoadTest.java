@@ -0,0 +1,181 @@
+package com.jongheon.www.noticeboard.loadtest;
+
+import com.jongheon.www.noticeboard.NoticeboardApplication;
+import com.jongheon.www.noticeboard.domain.dto.request.PostRequestDto;
+import com.jongheon.www.noticeboard.domain.entity.Post;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import com.jongheon.www.noticeboard.service.MemberService;
+import com.jongheon.www.noticeboard.service.PostService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * HTTP API 부하 테스트, ./gradlew loadTest -Pscenario=mixed 로 실행한다.
+ * 1. loadtest 프로필(H2 메모리 DB, 임의 포트)로 애플리케이션을 띄우고 회원과 게시글을 미리 만든다.
+ * 2. 시나리오의 비율대로 sign_in, sign_up, post_create, post_read 요청을 초당 rate-per-second 개씩,
+ *    이전 응답을 기다리지 않고 일정한 간격으로 보낸다(open-loop).
+ * 3. 응답 시간을 LoadResult에 모아 출력하고, 기준을 넘으면 0이 아닌 값으로 종료하여 빌드를 실패시킨다.
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "loadTestPassword";
+
+    private final Scenario scenario;
+
+    private final String baseUrl;
+
+    private final List<Long> postIds;
+
+    private final Operation[] weightedOperations;
+
+    private final AtomicLong signUpSeq = new AtomicLong();
+
+    private LoadTest(final Scenario scenario, final String baseUrl, final List<Long> postIds) {
+        this.scenario = scenario;
+        this.baseUrl = baseUrl;
+        this.postIds = postIds;
+        this.weightedOperations = scenario.mix.entrySet().stream()
+                .flatMap(entry -> IntStream.range(0, entry.getValue()).mapToObj(i -> entry.getKey()))
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.load(args.length > 0 ? args[0] : "mixed");
+        Path reportDir = Path.of(args.length > 1 ? args[1] : "build/reports/loadtest", scenario.name);
+
+        List<String> violations;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NoticeboardApplication.class)
+                .profiles("loadtest")
+                .run()) {
+            List<Long> postIds = seed(context, scenario);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            violations = new LoadTest(scenario, baseUrl, postIds).run().report(scenario, System.out, reportDir);
+        }
+
+        if (!violations.isEmpty()) {
+            System.err.println("Load test failed: " + String.join(", ", violations));
+            System.exit(1);
+        }
+        System.out.println("Load test passed, histograms in " + reportDir);
+        System.exit(0);
+    }
+
+    // 요청에서 사용할 회원(member<i>@loadtest.com)과 게시글을 HTTP를 거치지 않고 만든다
+    private static List<Long> seed(final ConfigurableApplicationContext context, final Scenario scenario) {
+        MemberService memberService = context.getBean(MemberService.class);
+        PostService postService = context.getBean(PostService.class);
+        IntStream.range(0, scenario.members).parallel()
+                .forEach(i -> memberService.SignUp(memberId(i), PASSWORD, "member" + i));
+        IntStream.range(0, scenario.posts).parallel()
+                .forEach(i -> postService.Post(PostRequestDto.builder().memberId(memberId(i % scenario.members))
+                        .title("title " + i).content("content " + i).build()));
+        return context.getBean(PostRepository.class).findAll().stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static String memberId(final int i) {
+        return "member" + i + "@loadtest.com";
+    }
+
+    private LoadResult run() throws InterruptedException {
+        LoadResult result = new LoadResult();
+        ExecutorService executor = Executors.newFixedThreadPool(scenario.clients);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(scenario.requestTimeout)
+                .build();
+        AtomicLong inFlight = new AtomicLong();
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup.toNanos();
+        long end = measureFrom + scenario.duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            // 응답이 늦어져도 다음 요청은 원래 보내기로 한 시각에 보낸다
+            long intended = start + i * interval;
+            if (intended >= end) break;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            boolean measured = intended >= measureFrom;
+            long sent = System.nanoTime();
+            inFlight.incrementAndGet();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        if (measured) {
+                            boolean success = error == null && response.statusCode() / 100 == 2;
+                            result.record(operation, done - intended, done - sent, success);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + scenario.requestTimeout.toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        executor.shutdownNow();
+        return result;
+    }
+
+    private HttpRequest request(final Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SIGN_IN:
+                return form("/sign_in", "member_id=" + encode(memberId(random.nextInt(scenario.members))) +
+                        "&member_pwd=" + PASSWORD);
+            case SIGN_UP:
+                long seq = signUpSeq.incrementAndGet();
+                return form("/sign_up", "member_id=" + encode("new" + seq + "@loadtest.com") +
+                        "&member_pwd=" + PASSWORD + "&member_name=new" + seq);
+            case POST_CREATE:
+                return builder("/post")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"memberId\":\"%s\",\"title\":\"load test\",\"content\":\"content %d\"}",
+                                memberId(random.nextInt(scenario.members)), random.nextInt())))
+                        .build();
+            case POST_READ:
+                return builder("/post?id=" + postIds.get(random.nextInt(postIds.size()))).GET().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpRequest form(final String path, final String body) {
+        return builder(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(final String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(scenario.requestTimeout);
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
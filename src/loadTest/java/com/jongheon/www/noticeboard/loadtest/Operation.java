@@ -0,0 +1,17 @@
+package com.jongheon.www.noticeboard.loadtest;
+
+/**
+ * 부하 테스트에서 보내는 요청 종류, 시나리오 파일의 mix.<key>로 비율을 정한다
+ */
+enum Operation {
+    SIGN_IN("sign_in"),
+    SIGN_UP("sign_up"),
+    POST_CREATE("post_create"),
+    POST_READ("post_read");
+
+    final String key;
+
+    Operation(final String key) {
+        this.key = key;
+    }
+}
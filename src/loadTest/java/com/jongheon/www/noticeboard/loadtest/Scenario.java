@@ -0,0 +1,89 @@
+package com.jongheon.www.noticeboard.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * src/loadTest/resources/loadtest/<name>.properties 의 부하 테스트 시나리오
+ * 같은 키를 -Dloadtest.<key>=값 으로 넘기면 파일의 값 대신 사용한다.
+ */
+final class Scenario {
+
+    final String name;
+
+    // 초당 요청 수, 응답을 기다리지 않고 일정한 간격으로 보낸다
+    final int ratePerSecond;
+
+    final Duration warmup;
+
+    final Duration duration;
+
+    // 요청을 보내고 응답을 처리하는 HttpClient 스레드 수
+    final int clients;
+
+    final Duration requestTimeout;
+
+    // 시작 전에 만들어 두는 회원, 게시글 수
+    final int members;
+
+    final int posts;
+
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    private final Properties properties;
+
+    private Scenario(final String name, final Properties properties) {
+        this.name = name;
+        this.properties = properties;
+        ratePerSecond = intValue("rate-per-second");
+        warmup = Duration.ofSeconds(intValue("warmup-seconds"));
+        duration = Duration.ofSeconds(intValue("duration-seconds"));
+        clients = intValue("clients");
+        requestTimeout = Duration.ofMillis(intValue("request-timeout-ms"));
+        members = intValue("members");
+        posts = intValue("posts");
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, Integer.parseInt(value("mix." + operation.key, "0")));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Scenario " + name + " has no mix.* weights");
+        }
+    }
+
+    static Scenario load(final String name) {
+        Properties properties = new Properties();
+        try (InputStream in = Scenario.class.getResourceAsStream("/loadtest/" + name + ".properties")) {
+            if (in == null) throw new IllegalArgumentException("No scenario loadtest/" + name + ".properties");
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Scenario(name, properties);
+    }
+
+    // threshold.<operation>.<key>가 있으면 그 값을, 없으면 threshold.<key>를 사용한다. 둘 다 없으면 검사하지 않는다
+    Double threshold(final Operation operation, final String key) {
+        String value = value("threshold." + operation.key + "." + key, value("threshold." + key, null));
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    Double threshold(final String key) {
+        String value = value("threshold." + key, null);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private int intValue(final String key) {
+        String value = value(key, null);
+        if (value == null) throw new IllegalArgumentException("Scenario " + name + " has no " + key);
+        return Integer.parseInt(value);
+    }
+
+    private String value(final String key, final String defaultValue) {
+        return System.getProperty("loadtest." + key, properties.getProperty(key, defaultValue));
+    }
+}
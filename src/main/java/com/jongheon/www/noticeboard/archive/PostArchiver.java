@@ -0,0 +1,100 @@
+package com.jongheon.www.noticeboard.archive;
+
+import com.jongheon.www.noticeboard.cache.PostCache;
+import com.jongheon.www.noticeboard.search.PostSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 오래된 게시글(older-than-days 이전에 작성)과 삭제된 게시글을 post에서 post_archive로 옮긴다.
+ * 1. chunk-size 개씩 잠그고(FOR UPDATE) 복사(INSERT ... SELECT)한 뒤 post에서 지우며, chunk마다 트랜잭션 하나로 처리한다.
+ * 2. 옮긴 게시글은 post에 남지 않으므로, 중간에 멈추더라도 다음 실행이 남은 게시글부터 이어서 옮긴다.
+ * 3. 한 번에 max-chunks-per-run 개의 chunk까지만 옮겨 DB 부하를 제한한다.
+ * 옮긴 게시글은 캐시와 검색 색인에서 빠지며, 조회는 PostCache가, 수정과 삭제는 PostService가, 댓글은 CommentService가 post_archive에서 처리한다.
+ * 조회수와 댓글 수는 PostCounterBuffer가 post에 없으면 post_archive에 반영한다.
+ * 목록, 검색, 인기 게시글, 내보내기에서는 빠지므로 기본값은 꺼져 있다(noticeboard.post.archive.enabled).
+ */
+@Slf4j
+@Component
+public class PostArchiver {
+
+    private static final String COLUMNS =
+            "post_id, member_id, created_at, last_updated_at, title, content, views, comment_count, version, deleted_at";
+
+    @Value("${noticeboard.post.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${noticeboard.post.archive.older-than-days:365}")
+    private long olderThanDays;
+
+    @Value("${noticeboard.post.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${noticeboard.post.archive.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Scheduled(initialDelayString = "${noticeboard.post.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${noticeboard.post.archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        // 각각 idx_post_deleted_at, idx_post_created_at_post_id 인덱스 순서로 읽는다
+        int deleted = archiveWhere("deleted_at IS NOT NULL", "deleted_at, post_id",
+                new MapSqlParameterSource("now", now));
+        int aged = archiveWhere("created_at < :cutoff", "created_at, post_id",
+                new MapSqlParameterSource("now", now).addValue("cutoff", now.minusDays(olderThanDays)));
+
+        if (deleted + aged > 0) {
+            log.info("Archived {} deleted and {} old posts", deleted, aged);
+        }
+    }
+
+    private int archiveWhere(final String condition, final String orderBy, final MapSqlParameterSource params) {
+        params.addValue("size", chunkSize);
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> ids = transactionTemplate.execute(status -> archiveChunk(condition, orderBy, params));
+            ids.forEach(id -> {
+                postCache.invalidate(id);
+                postSearchIndex.remove(id);
+            });
+            archived += ids.size();
+            if (ids.size() < chunkSize) break;
+        }
+        return archived;
+    }
+
+    private List<Long> archiveChunk(final String condition, final String orderBy, final MapSqlParameterSource params) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT post_id FROM post WHERE " + condition +
+                " ORDER BY " + orderBy + " LIMIT :size FOR UPDATE", params, Long.class);
+        if (ids.isEmpty()) return ids;
+
+        MapSqlParameterSource chunk = new MapSqlParameterSource("ids", ids).addValue("now", params.getValue("now"));
+        jdbcTemplate.update("INSERT INTO post_archive (" + COLUMNS + ", archived_at) " +
+                "SELECT " + COLUMNS + ", :now FROM post WHERE post_id IN (:ids)", chunk);
+        jdbcTemplate.update("DELETE FROM post WHERE post_id IN (:ids)", chunk);
+        return ids;
+    }
+}
@@ -1,89 +1,176 @@
 package com.jongheon.www.noticeboard.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.jongheon.www.noticeboard.domain.entity.Member;
 import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
-
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Member 정보를 위한 캐시
+ * 조회 시 없으면 MemberRepository에서 읽어오며(read-through), 시작 후 MemberCacheWarmUp이 백그라운드에서 미리 채운다.
+ * 최대 크기를 넘으면 W-TinyLFU 정책으로 오래 쓰이지 않은 회원부터 제거된다.
+ * 한 회원에 대한 변경은 compute 계열 연산으로 원자적으로 처리한다.
+ * MemberIdFilter에 없는 id는 캐시와 DB를 거치지 않고 바로 없는 회원으로 처리한다.
+ * 로그인 실패 횟수는 바로 저장하지 않고 MemberWriteBehind를 통해 모아서 저장한다.
+ */
 @Component
-public class MemberCache {
+public class MemberCache implements MeterBinder {
+
+    private static final int MAX_LOGIN_FAIL_CNT = 10;
 
-    private Map<String, Member> members;
+    private Cache<String, Member> members;
+
+    @Value("${noticeboard.cache.member.maximum-size:100000}")
+    private long maximumSize;
 
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private MemberWriteBehind memberWriteBehind;
+
+    @Autowired
+    private MemberIdFilter memberIdFilter;
+
     @PostConstruct
     public void cachePostConstruct(){
-        members = new HashMap<>();
-        memberRepository.findAll().forEach(member -> members.put(member.getMemberId(), member));
+        members = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        CaffeineCacheMetrics.monitor(registry, members, "member");
     }
 
     @PreDestroy
     public void cachePreDestroy(){
-        members.keySet().forEach(id -> memberRepository.save(members.get(id)));
-        members.clear();
+        memberWriteBehind.flush();
+        members.invalidateAll();
+    }
+
+    private Optional<Member> load(final String id){
+        if(!memberIdFilter.mightContain(id)) return Optional.empty();
+        return Optional.ofNullable(members.get(id, key -> findMember(key).orElse(null)));
+    }
+
+    private Optional<Member> findMember(final String id){
+        return memberRepository.findById(id).map(member -> {
+            memberWriteBehind.pendingLoginFailCnt(id).ifPresent(member::setLoginFailCnt);
+            return member;
+        });
+    }
+
+    // 같은 회원에 대한 변경끼리는 직렬화되고, 캐시에 없으면 DB에서 읽어와 변경한다
+    private Optional<Member> update(final String id, final UnaryOperator<Member> updater){
+        if(!memberIdFilter.mightContain(id)) return Optional.empty();
+        return Optional.ofNullable(members.asMap().compute(id, (key, cached) ->
+                Optional.ofNullable(cached).or(() -> findMember(key)).map(updater).orElse(null)));
+    }
+
+    // warm-up으로 읽은 회원, 그 사이 조회나 변경으로 캐시에 들어온 값이 있으면 그대로 둔다
+    public void warm(final Member member){
+        memberWriteBehind.pendingLoginFailCnt(member.getMemberId()).ifPresent(member::setLoginFailCnt);
+        members.asMap().putIfAbsent(member.getMemberId(), member);
+    }
+
+    public long getMaximumSize(){
+        return maximumSize;
     }
 
     public boolean isAlreadyExist(final String id){
-        return members.containsKey(id);
+        return load(id).isPresent();
     }
 
     public Optional<Member> getMemberInfo(final String id){
-        return Optional.ofNullable(members.get(id));
+        return load(id);
     }
 
+    // 가입 여부는 replica가 아닌 primary에서 확인한다
+    // filter에 없더라도 다른 서버에서 방금 가입했을 수 있으므로 DB 확인은 생략하지 않는다
+    // INSERT를 compute 안에서 바로 실행해, 다른 서버와 아이디가 겹치는 등 실패하면 캐시에 넣지 않는다
+    @Transactional
     public boolean addNewMember(final Member newMember){
-        if(isAlreadyExist(newMember.getMemberId())) return false;
-        memberRepository.save(newMember);
-        members.put(newMember.getMemberId(), newMember);
-        return true;
+        final boolean[] added = {false};
+        members.asMap().compute(newMember.getMemberId(), (id, cached) -> {
+            if(cached != null || memberRepository.existsById(id)) return cached;
+            memberRepository.saveAndFlush(newMember);
+            memberIdFilter.put(id);
+            added[0] = true;
+            return newMember;
+        });
+        if(added[0]) invalidateOnRollback(newMember.getMemberId());
+        return added[0];
+    }
+
+    // flush 이후 커밋에서 실패하더라도 DB에 없는 회원이 캐시에 남지 않게 한다, filter에 남은 bit는 DB 확인으로 이어질 뿐이다
+    private void invalidateOnRollback(final String id){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status){
+                if(status != STATUS_COMMITTED) members.invalidate(id);
+            }
+        });
     }
 
+    // filter의 bit는 지우지 않는다, 다음 재구성 때 빠진다
     public boolean removeMember(final Member member) {
         if (!isAlreadyExist(member.getMemberId())) return false;
         memberRepository.delete(member);
-        members.remove(member.getMemberId());
+        members.invalidate(member.getMemberId());
         return true;
     }
 
     public boolean updateMemberPassword(final String id, final String newPassword){
-        if(!isAlreadyExist(id)) return false;
-        Member member = members.get(id);
-        member.setPassword(newPassword);
-        memberRepository.save(member);
-        members.put(member.getMemberId(), member);
-        return true;
+        return update(id, member -> {
+            member.setPassword(newPassword);
+            memberRepository.save(member);
+            return member;
+        }).isPresent();
     }
 
     public void addLoginFailCnt(final String id){
-        if(!isAlreadyExist(id)) return;
-        Member member = members.get(id);
-        if(member.getLoginFailCnt() >= 10) return;
-        member.setLoginFailCnt(member.getLoginFailCnt() + 1);
-        members.put(id, member);
-        if(member.getLoginFailCnt() >= 10){
-            memberRepository.save(member);
-        }
+        update(id, member -> {
+            if(member.getLoginFailCnt() >= MAX_LOGIN_FAIL_CNT) return member;
+            member.setLoginFailCnt(member.getLoginFailCnt() + 1);
+            memberWriteBehind.markLoginFailCnt(id, member.getLoginFailCnt());
+            return member;
+        });
     }
 
     public void resetLoginFailCnt(final String id){
-        if(!isAlreadyExist(id)) return;
-        Member member = members.get(id);
-        member.setLoginFailCnt(0);
-        members.put(id, member);
+        update(id, member -> {
+            if(member.getLoginFailCnt() == 0) return member;
+            member.setLoginFailCnt(0);
+            memberWriteBehind.markLoginFailCnt(id, 0);
+            return member;
+        });
     }
 
-    public boolean isRightLoginInfo(final String id, final String encryptedPwd){
-        if(!isAlreadyExist(id)) return false;
-        if(members.get(id).getLoginFailCnt() >= 10) return false;
-        return members.get(id).getPassword().equals(encryptedPwd);
+    // passwordMatcher는 DB에 저장된 암호화된 비밀번호를 받아 입력한 비밀번호와 같은지 확인한다
+    public boolean isRightLoginInfo(final String id, final Predicate<String> passwordMatcher){
+        return load(id)
+                .filter(member -> member.getLoginFailCnt() < MAX_LOGIN_FAIL_CNT)
+                .map(member -> passwordMatcher.test(member.getPassword()))
+                .orElse(false);
     }
 
 }
@@ -0,0 +1,104 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemberCache를 시작 후 백그라운드에서 미리 채운다.
+ * 1. 기본 키 인덱스를 따라 chunk-size 개마다 경계 id를 찾고, 그 범위의 회원을 threads 개의 스레드가 나누어 읽는다.
+ * 2. 캐시 최대 크기만큼 읽으면 멈추며, 그 동안 들어온 조회는 read-through로 처리된다.
+ * 3. 끝날 때까지 health는 OUT_OF_SERVICE 이므로, readiness 그룹에 넣어 두면 다 채운 뒤에 트래픽을 받는다.
+ */
+@Slf4j
+@Component
+public class MemberCacheWarmUp implements HealthIndicator {
+
+    @Value("${noticeboard.cache.member.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${noticeboard.cache.member.warm-up.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${noticeboard.cache.member.warm-up.threads:4}")
+    private int threads;
+
+    @Autowired
+    private MemberCache memberCache;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final AtomicLong loaded = new AtomicLong();
+
+    private volatile boolean warm;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnReady() {
+        if (!enabled) {
+            warm = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "member-cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "member-cache-warm-up-chunk");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            String after = "";
+            for (long planned = 0; planned < memberCache.getMaximumSize(); planned += chunkSize) {
+                // after 다음 chunkSize 번째 id가 이번 범위의 끝, 없으면 마지막 범위
+                List<String> boundary = memberRepository.findIdsAfter(after, PageRequest.of(chunkSize - 1, 1));
+                String from = after;
+                String until = boundary.isEmpty() ? null : boundary.get(0);
+                chunks.add(executor.submit(() -> loadChunk(from, until)));
+                if (until == null) break;
+                after = until;
+            }
+            for (Future<?> chunk : chunks) chunk.get();
+            log.info("Member cache warmed up with {} members in {} ms", loaded.get(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            // 채우지 못한 회원은 read-through로 읽으므로 트래픽은 받는다
+            log.warn("Member cache warm-up stopped after {} members", loaded.get(), e);
+        } finally {
+            executor.shutdownNow();
+            warm = true;
+        }
+    }
+
+    private void loadChunk(final String after, final String until) {
+        List<Member> members = until == null ? memberRepository.findAfter(after) : memberRepository.findRange(after, until);
+        members.forEach(memberCache::warm);
+        loaded.addAndGet(members.size());
+    }
+
+    @Override
+    public Health health() {
+        return (warm ? Health.up() : Health.outOfService())
+                .withDetail("loaded", loaded.get())
+                .build();
+    }
+}
@@ -0,0 +1,226 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가입된 회원 id 전체에 대한 Bloom filter
+ * mightContain이 false 이면 없는 회원이 확실하므로 MemberCache는 DB를 읽지 않고 바로 거절한다.
+ * 1. 시작 후 백그라운드에서 모든 id를 읽어 만들며, 만들어지기 전에는 항상 true를 돌려준다.
+ * 2. 이 서버에서 가입한 회원은 바로 추가하고, 다른 서버에서 가입한 회원은 sync-interval-ms 마다 created_at으로 찾아 추가한다.
+ * 3. 탈퇴한 회원의 bit는 지울 수 없으므로 rebuild-interval-ms 마다 새로 만들어 교체한다.
+ */
+@Slf4j
+@Component
+public class MemberIdFilter implements MeterBinder {
+
+    @Value("${noticeboard.cache.member.id-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${noticeboard.cache.member.id-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${noticeboard.cache.member.id-filter.fpp:0.01}")
+    private double fpp;
+
+    @Value("${noticeboard.cache.member.id-filter.page-size:10000}")
+    private int pageSize;
+
+    @Value("${noticeboard.cache.member.id-filter.sync-overlap-seconds:10}")
+    private long syncOverlapSeconds;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean(false);
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-id-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 조회에 쓰이는 filter, 처음 만들어지기 전에는 null
+    private volatile Bits current;
+
+    // 다시 만드는 중인 filter, 그 사이 추가되는 id는 양쪽에 모두 넣는다
+    private volatile Bits building;
+
+    // 다른 서버에서 가입한 회원을 여기부터 찾는다, 처음 만들어지기 전에는 null
+    private volatile LocalDateTime syncedSince;
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        FunctionCounter.builder("noticeboard.member.id_filter.rejected", rejected, LongAdder::sum)
+                .description("DB를 읽지 않고 거절한 없는 회원 id 조회 수")
+                .register(registry);
+        Gauge.builder("noticeboard.member.id_filter.bits", this, filter -> {
+                    Bits bits = filter.current;
+                    return bits == null ? 0 : bits.bitCount;
+                })
+                .description("현재 filter의 bit 수")
+                .register(registry);
+    }
+
+    public boolean mightContain(final String id){
+        Bits bits = current;
+        if(bits == null || bits.mightContain(id)) return true;
+        rejected.increment();
+        return false;
+    }
+
+    // 다시 만드는 중인 filter부터 넣어야 교체되는 순간에도 빠지지 않는다
+    public void put(final String id){
+        Bits next = building;
+        if(next != null) next.put(id);
+        Bits bits = current;
+        if(bits != null) bits.put(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnReady(){
+        requestRebuild();
+    }
+
+    @Scheduled(initialDelayString = "${noticeboard.cache.member.id-filter.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${noticeboard.cache.member.id-filter.rebuild-interval-ms:21600000}")
+    public void requestRebuild(){
+        if(!enabled || !rebuildRequested.compareAndSet(false, true)) return;
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                // 이전 filter를 그대로 쓰고, 처음이라면 계속 DB에서 확인한다
+                log.warn("Member id filter rebuild failed", e);
+            } finally {
+                rebuildRequested.set(false);
+            }
+        });
+    }
+
+    void rebuild(){
+        long started = System.nanoTime();
+        LocalDateTime scanStarted = LocalDateTime.now();
+        // 다음 재구성 전까지 가입할 회원을 위해 두 배의 여유를 둔다
+        Bits next = new Bits(Math.max(expectedInsertions, memberRepository.count() * 2), fpp);
+        building = next;
+        try {
+            long inserted = 0;
+            String after = "";
+            List<String> ids;
+            while(!(ids = memberRepository.findIdsAfter(after, PageRequest.of(0, pageSize))).isEmpty()){
+                ids.forEach(next::put);
+                inserted += ids.size();
+                after = ids.get(ids.size() - 1);
+            }
+            // replica에서 읽었다면 복제 지연 동안 가입한 회원이 빠졌을 수 있으므로 primary에서 다시 읽는다
+            memberRepository.findIdsCreatedSince(scanStarted.minusSeconds(syncOverlapSeconds)).forEach(next::put);
+            current = next;
+            if(syncedSince == null) syncedSince = scanStarted;
+            log.info("Member id filter built with {} ids, {} bits, {} hashes in {} ms",
+                    inserted, next.bitCount, next.hashCount, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            building = null;
+        }
+    }
+
+    // created_at은 커밋보다 먼저 정해지고 서버마다 시계가 다르므로 sync-overlap-seconds 만큼 겹쳐 읽는다
+    @Scheduled(fixedDelayString = "${noticeboard.cache.member.id-filter.sync-interval-ms:1000}")
+    public void syncNewMembers(){
+        LocalDateTime since = syncedSince;
+        if(since == null) return;
+        LocalDateTime now = LocalDateTime.now();
+        memberRepository.findIdsCreatedSince(since.minusSeconds(syncOverlapSeconds)).forEach(this::put);
+        syncedSince = now;
+    }
+
+    @PreDestroy
+    public void filterPreDestroy(){
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * 여러 스레드가 lock 없이 동시에 넣고 확인할 수 있는 고정 크기 bit 배열
+     * 64bit 해시 하나에서 h1 + i * h2 로 hashCount 개의 위치를 만든다.
+     */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+
+        private final long bitCount;
+
+        private final int hashCount;
+
+        Bits(final long expectedInsertions, final double fpp){
+            long n = Math.max(1, expectedInsertions);
+            long bits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            words = new AtomicLongArray((int) ((bits + 63) / 64));
+            bitCount = words.length() * 64L;
+            hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(final String id){
+            long h1 = hash(id);
+            long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+            for(int i = 0; i < hashCount; i++){
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                while(((word = words.get(index)) & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        boolean mightContain(final String id){
+            long h1 = hash(id);
+            long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+            for(int i = 0; i < hashCount; i++){
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // FNV-1a 후 murmur3의 finalizer로 섞는다
+        private static long hash(final String id){
+            long h = 0xcbf29ce484222325L;
+            for(byte b : id.getBytes(StandardCharsets.UTF_8)){
+                h ^= b & 0xff;
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h){
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
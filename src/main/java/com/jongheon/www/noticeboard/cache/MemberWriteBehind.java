@@ -0,0 +1,107 @@
+package com.jongheon.www.noticeboard.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * MemberCache에서 변경된 로그인 실패 횟수를 모아두었다가 한번에 DB에 반영하는 쓰기 지연 큐
+ * 1. 같은 회원에 대한 변경은 마지막 값 하나로 합쳐진다.
+ * 2. flush-interval-ms 마다, 혹은 쌓인 회원 수가 batch-size를 넘으면 JDBC batch로 반영한다.
+ * 3. 반영에 실패한 값은 큐에 남아 다음 주기에 다시 시도된다.
+ * 서버가 비정상 종료되면 최대 한 주기 동안의 변경만 유실된다.
+ */
+@Slf4j
+@Component
+public class MemberWriteBehind implements MeterBinder {
+
+    private static final String UPDATE_LOGIN_FAIL_CNT = "UPDATE member SET login_fail_cnt = ? WHERE member_id = ?";
+
+    private final Map<String, Integer> dirtyLoginFailCnt = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${noticeboard.cache.member.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        Gauge.builder("noticeboard.member.write_behind.pending", dirtyLoginFailCnt, Map::size)
+                .description("DB에 아직 반영되지 않은 회원 수")
+                .register(registry);
+    }
+
+    public void markLoginFailCnt(final String id, final int loginFailCnt){
+        dirtyLoginFailCnt.put(id, loginFailCnt);
+        if(dirtyLoginFailCnt.size() >= batchSize && flushRequested.compareAndSet(false, true)){
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 값, DB에서 다시 읽어온 회원 정보에 덮어써야 한다
+    public Optional<Integer> pendingLoginFailCnt(final String id){
+        return Optional.ofNullable(dirtyLoginFailCnt.get(id));
+    }
+
+    @Scheduled(fixedDelayString = "${noticeboard.cache.member.write-behind.flush-interval-ms:1000}")
+    public synchronized void flush(){
+        List<Map.Entry<String, Integer>> batch = new ArrayList<>(batchSize);
+        for(Map.Entry<String, Integer> entry : dirtyLoginFailCnt.entrySet()){
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            if(batch.size() >= batchSize){
+                if(!write(batch)) return;
+                batch.clear();
+            }
+        }
+        if(!batch.isEmpty()) write(batch);
+    }
+
+    private boolean write(final List<Map.Entry<String, Integer>> batch){
+        List<Object[]> args = new ArrayList<>(batch.size());
+        batch.forEach(entry -> args.add(new Object[]{entry.getValue(), entry.getKey()}));
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LOGIN_FAIL_CNT, args);
+        } catch (DataAccessException e){
+            log.warn("Failed to flush {} dirty members, will retry", batch.size(), e);
+            return false;
+        }
+        // 반영하는 동안 다시 바뀐 값은 남겨두어 다음 주기에 반영한다
+        batch.forEach(entry -> dirtyLoginFailCnt.remove(entry.getKey(), entry.getValue()));
+        return true;
+    }
+
+    @PreDestroy
+    public void writeBehindPreDestroy(){
+        flusher.shutdown();
+        flush();
+    }
+}
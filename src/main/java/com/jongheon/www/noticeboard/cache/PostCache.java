@@ -0,0 +1,127 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.repository.PostArchiveRepository;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자주 읽히는 게시글을 위한 캐시
+ * 조회 시 없으면 PostRepository에서, 그래도 없으면 보관된 게시글(PostArchiveRepository)에서 읽어오고,
+ * 게시글이 바뀌면 invalidate로 바로 제거한다.
+ * maximum-size, expire-after-write-seconds로 크기와 유지 시간을 정한다.
+ * 캐시에 넣을 게시글은 replica가 아닌 primary에서 읽는다, replica에서 읽으면 복제 지연 동안의
+ * 이전 게시글이 expire-after-write-seconds 동안 그대로 남는다.
+ * 수정 전에 시작된 조회는 invalidate 뒤에 이전 게시글을 다시 넣을 수 있으므로 reinvalidate-delay-ms 뒤에 한번 더 지운다.
+ * 그보다 오래 걸린 조회가 넣은 이전 게시글은 expire-after-write-seconds 까지 남을 수 있다.
+ */
+@Component
+public class PostCache implements MeterBinder {
+
+    private Cache<Long, PostResponseDto> posts;
+
+    @Value("${noticeboard.cache.post.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${noticeboard.cache.post.expire-after-write-seconds:60}")
+    private long expireAfterWriteSeconds;
+
+    @Value("${noticeboard.cache.post.reinvalidate-delay-ms:1000}")
+    private long reinvalidateDelayMs;
+
+    private final ScheduledExecutorService reinvalidator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-cache-reinvalidate");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostArchiveRepository postArchiveRepository;
+
+    @PostConstruct
+    public void cachePostConstruct(){
+        posts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        CaffeineCacheMetrics.monitor(registry, posts, "post");
+    }
+
+    @Transactional
+    public Optional<PostResponseDto> getPost(final Long id){
+        return Optional.ofNullable(posts.get(id, key -> postRepository.findResponseById(key)
+                .or(() -> postArchiveRepository.findResponseById(key))
+                .orElse(null)));
+    }
+
+    // 캐시에 있을 때만 반환, 없어도 DB에서 읽지 않는다
+    public Optional<PostResponseDto> peek(final Long id){
+        return Optional.ofNullable(posts.getIfPresent(id));
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 전에 이전 게시글이 다시 들어갈 수 있으므로 커밋된 뒤에 한번 더 지운다
+    public void invalidate(final Long id){
+        posts.invalidate(id);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    posts.invalidate(id);
+                    invalidateLater(id);
+                }
+            });
+        } else {
+            invalidateLater(id);
+        }
+    }
+
+    private void invalidateLater(final Long id){
+        if(reinvalidateDelayMs <= 0) return;
+        try {
+            reinvalidator.schedule(() -> posts.invalidate(id), reinvalidateDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 캐시도 곧 사라진다
+        }
+    }
+
+    @PreDestroy
+    public void cachePreDestroy(){
+        reinvalidator.shutdownNow();
+    }
+
+    public CacheStats getStats(){
+        return posts.stats();
+    }
+
+    public long getSize(){
+        return posts.estimatedSize();
+    }
+}
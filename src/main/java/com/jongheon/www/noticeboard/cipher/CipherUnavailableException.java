@@ -0,0 +1,12 @@
+package com.jongheon.www.noticeboard.cipher;
+
+/**
+ * 암호화 스레드 풀이 가득 찼거나 timeout-ms 안에 끝나지 않아 비밀번호를 확인하지 못한 경우
+ * 비밀번호가 틀린 것과 구분하여, 로그인 실패 횟수를 올리지 않고 503으로 응답해야 한다.
+ */
+public class CipherUnavailableException extends RuntimeException {
+
+    public CipherUnavailableException(final String message, final Throwable cause){
+        super(message, cause);
+    }
+}
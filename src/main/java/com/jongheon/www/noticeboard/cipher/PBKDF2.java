@@ -0,0 +1,80 @@
+package com.jongheon.www.noticeboard.cipher;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * salt와 반복 횟수를 사용하는 PBKDF2(HmacSHA256) 암호화
+ * 저장 형식은 "pbkdf2$반복횟수$salt$hash" 이며, 반복 횟수를 올리면 기존 값은 로그인 시 다시 암호화된다.
+ */
+@Component
+public class PBKDF2 implements PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int KEY_LENGTH = 256;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${noticeboard.cipher.pbkdf2.iterations:120000}")
+    private int iterations;
+
+    @Override
+    public Optional<String> Encrypt(String msg){
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        return derive(msg, salt, iterations)
+                .map(hash -> String.join("$", PREFIX, String.valueOf(iterations),
+                        Base64.getEncoder().encodeToString(salt), Base64.getEncoder().encodeToString(hash)));
+    }
+
+    @Override
+    public boolean matches(String msg, String encryptedMsg){
+        String[] parts = encryptedMsg.split("\\$");
+        if(parts.length != 4 || !PREFIX.equals(parts[0])) return false;
+        try {
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return derive(msg, Base64.getDecoder().decode(parts[2]), Integer.parseInt(parts[1]))
+                    .map(actual -> MessageDigest.isEqual(expected, actual))
+                    .orElse(false);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean supports(String encryptedMsg){
+        return encryptedMsg.startsWith(PREFIX + "$");
+    }
+
+    @Override
+    public boolean needsRehash(String encryptedMsg){
+        String[] parts = encryptedMsg.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private Optional<byte[]> derive(String msg, byte[] salt, int iterations){
+        PBEKeySpec spec = new PBEKeySpec(msg.toCharArray(), salt, iterations, KEY_LENGTH);
+        try {
+            return Optional.of(SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded());
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            return Optional.empty();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jongheon.www.noticeboard.cipher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * 회원 비밀번호 암호화/확인
+ * 새 비밀번호는 PBKDF2로 암호화하고, 기존 SHA256 값도 확인할 수 있다.
+ * PBKDF2 계산은 크기가 정해진 전용 스레드 풀에서 실행하여 요청 스레드가 CPU를 독점하지 않게 하고,
+ * 풀이 가득 차거나 timeout-ms 안에 끝나지 않으면 비밀번호가 틀린 것과 구분하여 CipherUnavailableException을 던진다.
+ * 알고리즘별 계산 시간은 noticeboard.password.hash 타이머로 기록한다.
+ */
+@Slf4j
+@Component
+public class PasswordCipher implements MeterBinder {
+
+    @Autowired
+    private SHA256 sha256;
+
+    @Autowired
+    private PBKDF2 pbkdf2;
+
+    @Value("${noticeboard.cipher.threads:0}")
+    private int threads;
+
+    @Value("${noticeboard.cipher.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${noticeboard.cipher.timeout-ms:3000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    // 타이머는 먼저 만들어 두고, bindTo로 실제 레지스트리가 연결되면 그곳으로 기록된다
+    private final CompositeMeterRegistry meterRegistry = new CompositeMeterRegistry();
+
+    private final Timer sha256Timer = hashTimer("sha256");
+
+    private final Timer pbkdf2Timer = hashTimer("pbkdf2");
+
+    private Timer hashTimer(final String algorithm){
+        return Timer.builder("noticeboard.password.hash")
+                .description("비밀번호 암호화/확인에 걸린 시간")
+                .tag("algorithm", algorithm)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        meterRegistry.add(registry);
+    }
+
+    @PostConstruct
+    public void cipherPostConstruct(){
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-cipher");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void cipherPreDestroy(){
+        executor.shutdownNow();
+    }
+
+    public Optional<String> Encrypt(final String msg){
+        return submit(() -> pbkdf2Timer.record(() -> pbkdf2.Encrypt(msg).orElse(null)));
+    }
+
+    public boolean matches(final String msg, final String encryptedMsg){
+        if(pbkdf2.supports(encryptedMsg)){
+            return submit(() -> pbkdf2Timer.record(() -> pbkdf2.matches(msg, encryptedMsg))).orElse(false);
+        }
+        return sha256.supports(encryptedMsg) && sha256Timer.record(() -> sha256.matches(msg, encryptedMsg));
+    }
+
+    public boolean needsRehash(final String encryptedMsg){
+        return !pbkdf2.supports(encryptedMsg) || pbkdf2.needsRehash(encryptedMsg);
+    }
+
+    private <T> Optional<T> submit(final Callable<T> task){
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password cipher pool is saturated");
+            throw new CipherUnavailableException("Password cipher pool is saturated", e);
+        }
+        try {
+            return Optional.ofNullable(future.get(timeoutMs, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CipherUnavailableException("Password cipher task interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password cipher task failed", e);
+            throw new CipherUnavailableException("Password cipher task failed", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jongheon.www.noticeboard.cipher;
+
+import java.util.Optional;
+
+/**
+ * 비밀번호 암호화 알고리즘
+ * DB에 저장된 값만 보고 어떤 알고리즘으로 암호화 되었는지 구분할 수 있어야 한다.
+ */
+public interface PasswordHasher {
+
+    Optional<String> Encrypt(String msg);
+
+    boolean matches(String msg, String encryptedMsg);
+
+    // 이 알고리즘으로 암호화된 값인지
+    boolean supports(String encryptedMsg);
+
+    // 현재 설정보다 약하게 암호화 되어 다시 암호화 해야 하는지
+    boolean needsRehash(String encryptedMsg);
+}
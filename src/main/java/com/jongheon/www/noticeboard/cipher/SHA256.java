@@ -6,22 +6,55 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
 
+/**
+ * 기존 회원의 비밀번호 암호화 방식(salt 없는 SHA-256)
+ * 새 비밀번호는 PBKDF2로 암호화하고, 이 방식은 기존 값을 확인하는 데에만 쓴다.
+ */
 @Component
-public class SHA256 {
+public class SHA256 implements PasswordHasher {
 
-    public Optional<String> Encrypt(String msg){
-        String encryptedMsg = null;
+    private static final int HEX_LENGTH = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // MessageDigest는 thread-safe 하지 않으므로 스레드마다 하나씩 만들어 재사용한다
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(msg.getBytes());
-            StringBuilder builder = new StringBuilder();
-            for (byte b : md.digest()) {
-                builder.append(String.format("%02x", b));
-            }
-            encryptedMsg = builder.toString();
-        } catch (NoSuchAlgorithmException ignored){
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    });
+
+    @Override
+    public Optional<String> Encrypt(String msg){
+        MessageDigest md = DIGEST.get();
+        if(md == null) return Optional.empty();
+
+        byte[] digest = md.digest(msg.getBytes());
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX[digest[i] & 0x0f];
         }
-        return Optional.ofNullable(encryptedMsg);
+        return Optional.of(new String(hex));
+    }
+
+    @Override
+    public boolean matches(String msg, String encryptedMsg){
+        return Encrypt(msg)
+                .map(encrypted -> MessageDigest.isEqual(encrypted.getBytes(), encryptedMsg.getBytes()))
+                .orElse(false);
+    }
+
+    @Override
+    public boolean supports(String encryptedMsg){
+        return encryptedMsg.length() == HEX_LENGTH && encryptedMsg.indexOf('$') < 0;
+    }
+
+    @Override
+    public boolean needsRehash(String encryptedMsg){
+        return true;
     }
 
 }
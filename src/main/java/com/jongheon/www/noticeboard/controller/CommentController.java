@@ -0,0 +1,35 @@
+package com.jongheon.www.noticeboard.controller;
+
+import com.jongheon.www.noticeboard.domain.dto.request.CommentRequestDto;
+import com.jongheon.www.noticeboard.domain.dto.response.CommentPageResponseDto;
+import com.jongheon.www.noticeboard.executor.PostExecutor;
+import com.jongheon.www.noticeboard.service.CommentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/post/{postId}/comments")
+public class CommentController {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostExecutor postExecutor;
+
+    @PostMapping("")
+    public CompletableFuture<ResponseEntity<String>> create(@PathVariable("postId") Long postId,
+                                                            @RequestBody CommentRequestDto commentRequestDto){
+        return postExecutor.submit(() -> commentService.Comment(postId, commentRequestDto));
+    }
+
+    @GetMapping("")
+    public CompletableFuture<ResponseEntity<CommentPageResponseDto>> list(@PathVariable("postId") Long postId,
+                                                                          @RequestParam(value = "after", required = false) String after,
+                                                                          @RequestParam(value = "size", defaultValue = "50") int size){
+        return postExecutor.submit(() -> commentService.ReadComments(postId, after, size));
+    }
+}
@@ -1,25 +1,32 @@
 package com.jongheon.www.noticeboard.controller;
 
-import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import com.jongheon.www.noticeboard.session.SignInSessionManager;
+import com.jongheon.www.noticeboard.view.IndexPageRenderer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 
-import javax.servlet.http.HttpSession;
-import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 @Controller
 public class IndexController {
 
     @Autowired
-    private HttpSession httpSession;
+    private SignInSessionManager signInSessionManager;
 
-    @GetMapping("")
-    public String Index(Model model){
-        Optional.ofNullable((Member)httpSession.getAttribute("Member"))
-                .ifPresent(member -> model.addAttribute("name", member.getName()));
-        return "index";
+    @Autowired
+    private IndexPageRenderer indexPageRenderer;
+
+    @GetMapping(value = "", produces = "text/html;charset=UTF-8")
+    @ResponseBody
+    public String Index(HttpServletRequest request, HttpServletResponse response){
+        String name = signInSessionManager.current()
+                .map(SignInSession::getName)
+                .orElse(null);
+        return indexPageRenderer.render(request, response, name);
     }
 
     @GetMapping("/login")
@@ -1,16 +1,23 @@
 package com.jongheon.www.noticeboard.controller;
 
+import com.jongheon.www.noticeboard.limiter.LoginRateLimiter;
 import com.jongheon.www.noticeboard.service.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+
 @RestController
 public class MemberController {
 
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping("sign_up")
     public ResponseEntity<String> create(@RequestParam("member_id") final String id,
                                          @RequestParam("member_pwd") final String password,
@@ -20,14 +27,29 @@ public class MemberController {
 
     @PostMapping("sign_in")
     public ResponseEntity<String> read(@RequestParam("member_id") final String id,
-                                       @RequestParam("member_pwd") final String password){
+                                       @RequestParam("member_pwd") final String password,
+                                       HttpServletRequest request){
+        // server.forward-headers-strategy=native 이므로 로드 밸런서 뒤에서도 클라이언트 주소가 된다
+        if(!loginRateLimiter.tryAcquire(id, request.getRemoteAddr())){
+            return new ResponseEntity<>("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요", HttpStatus.TOO_MANY_REQUESTS);
+        }
         return memberService.SignIn(id, password);
     }
 
+    @PostMapping("sign_out")
+    public ResponseEntity<String> signOut(){
+        return memberService.SignOut();
+    }
+
     @PutMapping("member/password")
     public ResponseEntity<String> update(@RequestParam("member_id") final String id,
                                          @RequestParam("member_pwd") final String password,
-                                         @RequestParam("change_pwd") final String newPassword){
+                                         @RequestParam("change_pwd") final String newPassword,
+                                         HttpServletRequest request){
+        // 현재 비밀번호를 확인하므로 로그인과 같은 제한을 받는다
+        if(!loginRateLimiter.tryAcquire(id, request.getRemoteAddr())){
+            return new ResponseEntity<>("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요", HttpStatus.TOO_MANY_REQUESTS);
+        }
         return memberService.ModifyUserInfo(id, password, newPassword);
     }
 
@@ -1,13 +1,30 @@
 package com.jongheon.www.noticeboard.controller;
 
 import com.jongheon.www.noticeboard.domain.dto.request.PostRequestDto;
-import com.jongheon.www.noticeboard.domain.entity.Post;
+import com.jongheon.www.noticeboard.domain.dto.response.PostBatchResultDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostPageResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostSearchResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostSummaryResponseDto;
+import com.jongheon.www.noticeboard.executor.PostExecutor;
 import com.jongheon.www.noticeboard.service.PostService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RestController
 @RequestMapping("/post")
@@ -16,18 +33,72 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PostExecutor postExecutor;
+
     @PostMapping("")
-    public ResponseEntity<String> create(@RequestBody PostRequestDto postRequestDto){
-        return postService.Post(postRequestDto);
+    public CompletableFuture<ResponseEntity<String>> create(@RequestBody PostRequestDto postRequestDto){
+        return postExecutor.submit(() -> postService.Post(postRequestDto));
+    }
+
+    // 요청 본문을 한번에 읽지 않도록 InputStream을 그대로 넘긴다
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PostBatchResultDto>> createBatch(HttpServletRequest request) throws IOException {
+        return postService.PostBatch(request.getInputStream());
+    }
+
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        postService.Export(response.getOutputStream());
     }
 
     @GetMapping("")
-    public ResponseEntity<Post> read(@RequestParam("id") Long id){
-        return postService.ReadById(id);
+    public CompletableFuture<ResponseEntity<PostResponseDto>> read(@RequestParam("id") Long id,
+                                                                   @RequestHeader HttpHeaders headers){
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        long ifModifiedSince = headers.getIfModifiedSince();
+        return postExecutor.submit(() -> postService.ReadById(id, ifNoneMatch, ifModifiedSince));
+    }
+
+    @GetMapping("/counts")
+    public CompletableFuture<ResponseEntity<PostCountsResponseDto>> counts(@RequestParam("id") Long id){
+        return postExecutor.submit(() -> postService.ReadCounts(id));
+    }
+
+    @GetMapping("/list")
+    public CompletableFuture<ResponseEntity<PostPageResponseDto>> list(@RequestParam(value = "created_at", required = false)
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAt,
+                                                                       @RequestParam(value = "last_id", required = false) Long lastId,
+                                                                       @RequestParam(value = "size", defaultValue = "20") int size){
+        return postExecutor.submit(() -> postService.ReadList(createdAt, lastId, size));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<PostSearchResponseDto>> search(@RequestParam("q") String query,
+                                                                           @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                           @RequestParam(value = "size", defaultValue = "20") int size){
+        return postExecutor.submit(() -> postService.Search(query, page, size));
+    }
+
+    @GetMapping("/trending")
+    public CompletableFuture<ResponseEntity<List<PostSummaryResponseDto>>> trending(){
+        return postExecutor.submit(() -> postService.ReadTrending());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Long>> cacheStats(){
+        return postService.ReadCacheStats();
     }
 
     @PutMapping("")
-    public ResponseEntity<String> update(@RequestBody PostRequestDto postRequestDto){
-        return postService.Revise(postRequestDto);
+    public CompletableFuture<ResponseEntity<String>> update(@RequestBody PostRequestDto postRequestDto){
+        return postExecutor.submit(() -> postService.Revise(postRequestDto));
+    }
+
+    @DeleteMapping("")
+    public CompletableFuture<ResponseEntity<String>> delete(@RequestParam("id") Long id){
+        return postExecutor.submit(() -> postService.Remove(id));
     }
 }
@@ -0,0 +1,42 @@
+package com.jongheon.www.noticeboard.counter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * 게시글 댓글 수
+ * 읽을 때마다 COUNT(*) 하지 않도록 Post.commentCount에 저장해 두고,
+ * 댓글이 달릴 때마다 UPDATE 하는 대신 PostCounterBuffer에 모았다가 flush-interval-ms 마다 반영한다.
+ */
+@Component
+public class PostCommentCounter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private PostCounterBuffer comments;
+
+    @PostConstruct
+    public void counterPostConstruct() {
+        comments = new PostCounterBuffer(jdbcTemplate, "comment_count");
+    }
+
+    @PreDestroy
+    public void counterPreDestroy() {
+        comments.flushAll();
+    }
+
+    public void increment(final Long postId) {
+        comments.add(postId, 1L);
+    }
+
+    @Scheduled(fixedDelayString = "${noticeboard.post.comments.flush-interval-ms:5000}")
+    public void flush() {
+        comments.flush();
+    }
+}
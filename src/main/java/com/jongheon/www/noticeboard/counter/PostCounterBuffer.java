@@ -0,0 +1,149 @@
+package com.jongheon.www.noticeboard.counter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * post 테이블의 숫자 컬럼에 대한 증가량을 메모리에 모아두었다가 한번에 반영한다.
+ * 1. 증가는 게시글별 LongAdder에 더하므로 같은 게시글에 몰려도 스레드끼리 경쟁하지 않는다.
+ * 2. flush 할 때마다 증가량을 받는 맵을 새로 바꾸고, 한 주기 전에 바꿔둔 맵을 DB에 반영한다.
+ *    맵마다 더하는 중인 스레드 수를 세어, GC 등으로 멈춘 스레드가 남아 있으면 끝날 때까지 기다린 뒤 읽는다.
+ *    바뀐 뒤에 더하기 시작한 스레드는 새 맵에 다시 더하므로 증가량을 잃지 않는다.
+ * 3. 반영은 "column = column + ?" 형태의 JDBC batch update 한 번으로 처리한다.
+ * 4. post에 없는 게시글은 PostArchiver가 옮긴 것일 수 있으므로 post_archive에 다시 반영한다.
+ *    PostArchiver는 post에서 지우기 전에 post_archive에 먼저 넣으므로, 옮기는 중이어도 증가량을 잃지 않는다.
+ */
+@Slf4j
+public class PostCounterBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String updateSql;
+
+    private final String archiveUpdateSql;
+
+    private volatile Generation current = new Generation();
+
+    private Generation retired = new Generation();
+
+    public PostCounterBuffer(final JdbcTemplate jdbcTemplate, final String column) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.updateSql = "UPDATE post SET " + column + " = " + column + " + ? WHERE post_id = ?";
+        this.archiveUpdateSql = "UPDATE post_archive SET " + column + " = " + column + " + ? WHERE post_id = ?";
+    }
+
+    public void add(final Long postId, final long delta) {
+        while (true) {
+            Generation generation = current;
+            int stripe = generation.enter();
+            try {
+                // 들어온 뒤에도 현재 맵이어야 flush가 기다려 준다
+                if (generation == current) {
+                    generation.counts.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+                    return;
+                }
+            } finally {
+                generation.exit(stripe);
+            }
+        }
+    }
+
+    /**
+     * 한 주기 전까지 쌓인 증가량을 DB에 반영한다.
+     *
+     * @return 반영한 게시글별 증가량, 반영에 실패하면 다음 주기에 다시 시도하고 빈 맵을 반환한다
+     */
+    public synchronized Map<Long, Long> flush() {
+        Generation quiescent = retired;
+        retired = current;
+        current = new Generation();
+        quiescent.awaitWriters();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        quiescent.counts.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) deltas.put(id, delta);
+        });
+        if (deltas.isEmpty()) return deltas;
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(updateSql, args);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush {} post counters, will retry", deltas.size(), e);
+            deltas.forEach(this::add);
+            return Map.of();
+        }
+
+        List<Object[]> missed = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            // 드라이버가 반영된 행 수를 알려주지 않으면(SUCCESS_NO_INFO) post_archive에도 반영해 본다
+            if (updated == null || i >= updated.length || updated[i] <= 0) missed.add(args.get(i));
+        }
+        if (missed.isEmpty()) return deltas;
+        try {
+            jdbcTemplate.batchUpdate(archiveUpdateSql, missed);
+        } catch (DataAccessException e) {
+            // post에 반영된 증가량은 다시 더하지 않는다
+            log.warn("Failed to flush {} archived post counters, will retry", missed.size(), e);
+            missed.forEach(arg -> {
+                Long id = (Long) arg[1];
+                add(id, deltas.remove(id));
+            });
+        }
+        return deltas;
+    }
+
+    // 종료 시 남은 증가량을 모두 반영
+    public synchronized void flushAll() {
+        flush();
+        flush();
+    }
+
+    /**
+     * 한 주기 동안 증가량을 받는 맵과, 그 맵에 더하는 중인 스레드 수
+     * 스레드 수는 스레드마다 정해진 칸에 세므로 같은 스레드의 증가, 감소가 같은 칸에서 상쇄되고,
+     * 칸끼리 cache line을 나눠 쓰지 않도록 PAD 간격으로 둔다.
+     */
+    private static final class Generation {
+
+        private static final int STRIPES = 16;
+
+        private static final int PAD = 8;
+
+        private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private final AtomicLongArray writers = new AtomicLongArray(STRIPES * PAD);
+
+        int enter() {
+            int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1)) * PAD;
+            writers.incrementAndGet(stripe);
+            return stripe;
+        }
+
+        void exit(final int stripe) {
+            writers.decrementAndGet(stripe);
+        }
+
+        // 교체된 뒤에 들어온 스레드는 더하지 않고 나가므로, 남은 스레드가 끝나기만 기다리면 된다
+        void awaitWriters() {
+            while (true) {
+                long active = 0;
+                for (int i = 0; i < STRIPES; i++) active += writers.get(i * PAD);
+                if (active == 0) return;
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.jongheon.www.noticeboard.counter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+
+/**
+ * 게시글 조회수와 인기 게시글
+ * 1. 조회수는 PostCounterBuffer에 모았다가 flush-interval-ms 마다 DB에 반영한다.
+ * 2. 반영한 조회수로 게시글별 점수를 올리고, 점수는 half-life-minutes 마다 절반으로 줄어든다.
+ * 3. 점수가 높은 trending-size 개의 게시글을 메모리에 두고 바로 응답한다.
+ * 인기 게시글은 서버마다 자신이 받은 조회수로 계산한다.
+ */
+@Component
+public class PostViewCounter {
+
+    // 이보다 점수가 낮아진 게시글은 더 이상 추적하지 않는다
+    private static final double MIN_SCORE = 0.01;
+
+    @Value("${noticeboard.post.trending.size:10}")
+    private int trendingSize;
+
+    @Value("${noticeboard.post.trending.half-life-minutes:60}")
+    private double halfLifeMinutes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private PostCounterBuffer views;
+
+    // flush 스레드만 변경한다
+    private final Map<Long, Double> scores = new HashMap<>();
+
+    private long lastDecayNanos = System.nanoTime();
+
+    private volatile List<Long> trending = List.of();
+
+    @PostConstruct
+    public void counterPostConstruct() {
+        views = new PostCounterBuffer(jdbcTemplate, "views");
+    }
+
+    @PreDestroy
+    public void counterPreDestroy() {
+        views.flushAll();
+    }
+
+    public void increment(final Long postId) {
+        views.add(postId, 1L);
+    }
+
+    public List<Long> getTrending() {
+        return trending;
+    }
+
+    @Scheduled(fixedDelayString = "${noticeboard.post.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = views.flush();
+
+        long now = System.nanoTime();
+        double elapsedMinutes = (now - lastDecayNanos) / 60_000_000_000.0;
+        double decay = Math.pow(0.5, elapsedMinutes / halfLifeMinutes);
+        lastDecayNanos = now;
+
+        scores.replaceAll((id, score) -> score * decay);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        deltas.forEach((id, delta) -> scores.merge(id, (double) delta, Double::sum));
+
+        // 상위 trendingSize 개만 남기는 min-heap
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(trendingSize + 1, Map.Entry.<Long, Double>comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > trendingSize) top.poll();
+        }
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) ranked.add(top.poll().getKey());
+        Collections.reverse(ranked);
+        trending = List.copyOf(ranked);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jongheon.www.noticeboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * noticeboard.datasource.routing.enabled=true 일 때 spring.datasource를 primary로,
+ * noticeboard.datasource.routing.replica-urls(쉼표로 구분)를 replica로 사용한다.
+ * replica는 primary와 같은 계정으로 접속한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "noticeboard.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${noticeboard.datasource.routing.replica-urls}")
+    private String[] replicaUrls;
+
+    // MySQL replica의 복제 지연, 다른 DB는 같은 이름의 컬럼으로 지연(초)을 반환하는 쿼리를 지정한다
+    @Value("${noticeboard.datasource.routing.lag-query:SHOW SLAVE STATUS}")
+    private String lagQuery;
+
+    @Value("${noticeboard.datasource.routing.lag-column:Seconds_Behind_Master}")
+    private String lagColumn;
+
+    @Value("${noticeboard.datasource.routing.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(final DataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = pool(properties, "replica-" + i);
+            replica.setJdbcUrl(replicaUrls[i].trim());
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(pool(properties, ReplicaRoutingDataSource.PRIMARY),
+                replicas, lagQuery, lagColumn, maxLagSeconds);
+        routingDataSource.checkReplicas();
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${noticeboard.datasource.routing.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) routingDataSource.checkReplicas();
+    }
+
+    private static HikariDataSource pool(final DataSourceProperties properties, final String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,152 @@
+package com.jongheon.www.noticeboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica로, 나머지는 primary로 보내는 DataSource
+ * 1. replica는 돌아가며(round robin) 고른다.
+ * 2. checkReplicas가 주기적으로 복제 지연을 확인하여, 지연이 maxLagSeconds를 넘거나 확인할 수 없는 replica는 제외한다.
+ * 3. 사용할 수 있는 replica가 없으면 읽기도 primary로 보낸다.
+ * 트랜잭션의 readOnly 여부는 커넥션을 실제로 얻을 때 정해지므로 LazyConnectionDataSourceProxy로 감싸서 사용한다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final String lagQuery;
+
+    private final String lagColumn;
+
+    private final long maxLagSeconds;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    // pool 이름 -> 이 pool로 보낸 커넥션 수
+    private final Map<String, LongAdder> routed = new LinkedHashMap<>();
+
+    // replica 이름 -> 마지막으로 확인한 복제 지연(초), 확인하지 못했으면 없음
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(final DataSource primary, final Map<String, DataSource> replicas,
+                                    final String lagQuery, final String lagColumn, final long maxLagSeconds) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        routed.put(PRIMARY, new LongAdder());
+        this.replicas.keySet().forEach(name -> routed.put(name, new LongAdder()));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? nextReplica() : PRIMARY;
+        routed.get(key).increment();
+        return key;
+    }
+
+    private String nextReplica() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) return PRIMARY;
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * replica마다 복제 지연을 확인하여 읽기를 보낼 replica 목록을 갱신한다.
+     */
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((name, replica) -> {
+            Optional<Long> lag = readLag(name, replica);
+            lag.ifPresentOrElse(seconds -> lags.put(name, seconds), () -> lags.remove(name));
+            if (lag.filter(seconds -> seconds <= maxLagSeconds).isPresent()) healthy.add(name);
+        });
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.warn("Read replicas changed from {} to {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    // 복제가 멈춘 경우(NULL)와 연결할 수 없는 경우는 지연을 알 수 없으므로 빈 값
+    private Optional<Long> readLag(final String name, final DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) return Optional.empty();
+            long lag = resultSet.getLong(lagColumn);
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(lag);
+        } catch (SQLException e) {
+            log.warn("Failed to check replication lag of {}", name, e);
+            return Optional.empty();
+        }
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public long getRoutedCount(final String pool) {
+        return routed.get(pool).sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        // Hikari pool은 Bean이 아니어서 자동으로 등록되지 않으므로 pool 이름(primary, replica-0, ...)으로 직접 등록한다
+        List<DataSource> pools = new ArrayList<>(replicas.values());
+        pools.add(primary);
+        pools.stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .filter(pool -> pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        routed.forEach((pool, count) -> FunctionCounter.builder("noticeboard.datasource.routed", count, LongAdder::sum)
+                .description("Connections routed to each pool")
+                .tag("pool", pool)
+                .register(registry));
+        replicas.keySet().forEach(name -> {
+            Gauge.builder("noticeboard.datasource.replica.lag", lags, map -> map.getOrDefault(name, -1L))
+                    .description("Replication lag in seconds, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("pool", name)
+                    .register(registry);
+            Gauge.builder("noticeboard.datasource.replica.healthy", this, routing -> routing.healthyReplicas.contains(name) ? 1 : 0)
+                    .description("Whether reads are routed to the replica")
+                    .tag("pool", name)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.jongheon.www.noticeboard.domain.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotEmpty;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentRequestDto {
+
+    @Email
+    @NotEmpty
+    private String memberId;
+
+    // 답글인 경우 부모 댓글 id
+    private Long parentId;
+
+    @NotEmpty
+    private String content;
+}
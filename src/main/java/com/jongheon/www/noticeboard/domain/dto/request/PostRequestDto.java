@@ -25,4 +25,7 @@ public class PostRequestDto {
 
     @NotEmpty
     private String content;
+
+    // 수정 요청 시 클라이언트가 읽었던 게시글 버전
+    private Long version;
 }
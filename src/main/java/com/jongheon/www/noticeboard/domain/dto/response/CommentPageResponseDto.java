@@ -0,0 +1,17 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CommentPageResponseDto {
+
+    // 부모 댓글이 이전 페이지에 있는 답글은 최상위에 두며, parentId로 이어 붙일 수 있다
+    private List<CommentResponseDto> comments;
+
+    // 다음 페이지 요청 시 after 값, 마지막 페이지면 null
+    private String next;
+}
@@ -0,0 +1,32 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CommentResponseDto {
+
+    private Long id;
+
+    private Long parentId;
+
+    private Integer depth;
+
+    @JsonIgnore
+    private String path;
+
+    private String content;
+
+    private String memberName;
+
+    private LocalDateTime createdAt;
+
+    // 같은 페이지에 있는 답글, 트리는 CommentService에서 메모리로 조립한다
+    private final List<CommentResponseDto> replies = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 등록 요청의 index 번째 게시글 처리 결과
+ * 성공한 경우에만 id가 있다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostBatchResultDto {
+
+    private int index;
+
+    private Long id;
+
+    private int status;
+
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 version과 관계없이 바뀌는 조회수, 댓글 수
+ */
+@Getter
+@AllArgsConstructor
+public class PostCountsResponseDto {
+
+    private Long id;
+
+    private Long views;
+
+    private Long commentCount;
+}
@@ -0,0 +1,30 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 내보내기 한 줄, 조회수와 댓글 수까지 모두 담는다
+ */
+@Getter
+@AllArgsConstructor
+public class PostExportDto {
+
+    private Long id;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUpdatedAt;
+
+    private String title;
+
+    private String content;
+
+    private Long views;
+
+    private Long commentCount;
+
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 게시글 목록 한 페이지
+ * 다음 페이지는 nextCreatedAt, nextId를 created_at, last_id로 넘겨서 요청한다.
+ * 마지막 페이지면 두 값 모두 null 이다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostPageResponseDto {
+
+    private List<PostSummaryResponseDto> posts;
+
+    private LocalDateTime nextCreatedAt;
+
+    private Long nextId;
+}
@@ -0,0 +1,27 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ETag(id, version)로 구분되는 게시글 본문
+ * 수정하지 않아도 바뀌는 조회수, 댓글 수는 담지 않고 PostCountsResponseDto로 따로 내려준다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostResponseDto {
+
+    private Long id;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUpdatedAt;
+
+    private String title;
+
+    private String content;
+
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PostSearchResponseDto {
+
+    private List<PostSummaryResponseDto> posts;
+
+    private long totalCount;
+}
@@ -0,0 +1,21 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PostSummaryResponseDto {
+
+    private Long id;
+
+    private String title;
+
+    private String memberName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUpdatedAt;
+}
@@ -0,0 +1,20 @@
+package com.jongheon.www.noticeboard.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 조회(ETag, Last-Modified) 판단에 필요한 값만 담는다
+ */
+@Getter
+@AllArgsConstructor
+public class PostVersionDto {
+
+    private Long id;
+
+    private Long version;
+
+    private LocalDateTime lastUpdatedAt;
+}
@@ -0,0 +1,70 @@
+package com.jongheon.www.noticeboard.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 댓글
+ * path에 최상위 댓글부터 자신까지의 id를 이어 붙여 저장하므로(materialized path),
+ * (post_id, path) 순서로 읽으면 답글이 부모 댓글 바로 뒤에 오는 트리 순서가 된다.
+ * 게시글은 보관(archive) 테이블로 옮겨질 수 있으므로 외래 키 없이 post_id만 저장한다.
+ */
+@Getter
+@Entity
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_comment_post_id_path", columnList = "post_id, path"))
+public class Comment {
+
+    // path에서 id 하나가 차지하는 길이, 자리 수를 맞춰야 문자열 순서가 id 순서와 같다
+    public static final int PATH_SEGMENT_LENGTH = 20;
+
+    public static final int MAX_DEPTH = 12;
+
+    @Column(name = "comment_id")
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(nullable = false, length = PATH_SEGMENT_LENGTH * MAX_DEPTH)
+    private String path;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id")
+    private Member member;
+
+    @Column(nullable = false)
+    private String content;
+
+    @CreatedDate
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    public static String pathSegment(final Long id) {
+        return String.format("%019d/", id);
+    }
+
+    // id는 persist 할 때 정해지므로, 부모의 path만 가진 상태로 persist 한 뒤 자신의 id를 붙인다
+    public void appendIdToPath() {
+        this.path = this.path + pathSegment(this.id);
+    }
+}
@@ -2,6 +2,7 @@ package com.jongheon.www.noticeboard.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,14 +17,20 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(name = "idx_post_created_at_post_id", columnList = "created_at, post_id"),
+        @Index(name = "idx_post_last_updated_at", columnList = "last_updated_at"),
+        @Index(name = "idx_post_deleted_at", columnList = "deleted_at")})
 public class Post {
 
     @Column(name = "post_id")
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
     private Member member;
 
@@ -40,6 +47,28 @@ public class Post {
 
     private String content;
 
+    // PostViewCounter가 모아서 반영하므로 최근 조회수는 조금 늦게 반영된다
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long views = 0L;
+
+    // PostCommentCounter가 모아서 반영하는 댓글 수
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long commentCount = 0L;
+
+    // 수정할 때마다 1씩 증가, 같은 버전을 보고 수정한 요청 중 하나만 성공한다
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // 삭제된 게시글은 조회되지 않으며, PostArchiver가 post_archive로 옮긴다
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     public void setTitle(String title) {
         this.title = title;
     }
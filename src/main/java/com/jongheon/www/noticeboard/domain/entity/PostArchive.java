@@ -0,0 +1,53 @@
+package com.jongheon.www.noticeboard.domain.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * PostArchiver가 post 테이블에서 옮겨 온 오래된 게시글과 삭제된 게시글
+ * post와 같은 컬럼에 옮긴 시각(archived_at)을 더해 저장하며, 수정과 삭제는 PostArchiveRepository의 update 쿼리로만 한다.
+ */
+@Getter
+@Entity
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "post_archive", indexes = @Index(name = "idx_post_archive_archived_at", columnList = "archived_at"))
+public class PostArchive {
+
+    @Id
+    @Column(name = "post_id")
+    private Long id;
+
+    @Column(name = "member_id")
+    private String memberId;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String content;
+
+    @Column(nullable = false)
+    private Long views;
+
+    @Column(nullable = false)
+    private Long commentCount;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false, name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,38 @@
+package com.jongheon.www.noticeboard.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 상태
+ * Member 엔티티 대신 회원 id와 화면에 필요한 이름만 저장한다.
+ * 쿠키의 토큰 대신 토큰의 SHA-256 값을 id로 저장하므로, 테이블이 유출되어도 그 값으로 로그인할 수 없다.
+ */
+@Getter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_sign_in_session_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_sign_in_session_member_id", columnList = "member_id")})
+public class SignInSession {
+
+    @Id
+    @Column(name = "session_id", length = 64)
+    private String id;
+
+    @Column(nullable = false, name = "member_id")
+    private String memberId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.jongheon.www.noticeboard.domain.repository;
+
+import com.jongheon.www.noticeboard.domain.dto.response.CommentResponseDto;
+import com.jongheon.www.noticeboard.domain.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // 작성자 이름까지 쿼리 한 번으로, (post_id, path) 인덱스 순서대로 읽는다
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.CommentResponseDto(" +
+            "c.id, c.parentId, c.depth, c.path, c.content, m.name, c.createdAt) from Comment c left join c.member m " +
+            "where c.postId = :postId and c.path > :after order by c.path")
+    List<CommentResponseDto> findResponsesAfter(@Param("postId") Long postId, @Param("after") String after, Pageable pageable);
+}
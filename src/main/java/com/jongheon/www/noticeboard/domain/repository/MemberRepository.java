@@ -1,9 +1,34 @@
 package com.jongheon.www.noticeboard.domain.repository;
 
 import com.jongheon.www.noticeboard.domain.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, String> {
+
+    // 기본 키 인덱스만 읽어 after 다음 id들을 순서대로 가져온다, 범위(chunk)의 경계를 정할 때 사용
+    @Transactional(readOnly = true)
+    @Query("select m.memberId from Member m where m.memberId > :after order by m.memberId")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select m from Member m where m.memberId > :after and m.memberId <= :until")
+    List<Member> findRange(@Param("after") String after, @Param("until") String until);
+
+    @Transactional(readOnly = true)
+    @Query("select m from Member m where m.memberId > :after")
+    List<Member> findAfter(@Param("after") String after);
+
+    // 다른 서버에서 가입한 회원을 MemberIdFilter에 반영할 때 사용, 복제 지연이 없도록 primary에서 읽는다
+    @Transactional
+    @Query("select m.memberId from Member m where m.createdAt >= :since")
+    List<String> findIdsCreatedSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,59 @@
+package com.jongheon.www.noticeboard.domain.repository;
+
+import com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostVersionDto;
+import com.jongheon.www.noticeboard.domain.entity.PostArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PostArchiveRepository extends JpaRepository<PostArchive, Long> {
+
+    // 삭제되지 않은 게시글
+    String LIVE = "a.deletedAt is null";
+
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto(" +
+            "a.id, a.createdAt, a.lastUpdatedAt, a.title, a.content, a.version) " +
+            "from PostArchive a where a.id = :id and " + LIVE)
+    Optional<PostResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto(" +
+            "a.id, a.views, a.commentCount) from PostArchive a where a.id = :id and " + LIVE)
+    Optional<PostCountsResponseDto> findCountsById(@Param("id") Long id);
+
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.PostVersionDto(" +
+            "a.id, a.version, a.lastUpdatedAt) from PostArchive a where a.id = :id and " + LIVE)
+    Optional<PostVersionDto> findVersionDtoById(@Param("id") Long id);
+
+    @Query("select a.version from PostArchive a where a.id = :id and " + LIVE)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // 옮겨진 게시글도 PostRepository와 같은 방법으로 수정, 삭제한다
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update PostArchive a set a.title = :title, a.content = :content, a.lastUpdatedAt = :now, " +
+            "a.version = a.version + 1 where a.id = :id and a.version = :version and " + LIVE)
+    int updateIfVersionMatches(@Param("id") Long id, @Param("version") Long version,
+                               @Param("title") String title, @Param("content") String content,
+                               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update PostArchive a set a.title = :title, a.content = :content, a.lastUpdatedAt = :now, " +
+            "a.version = a.version + 1 where a.id = :id and " + LIVE)
+    int update(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update PostArchive a set a.deletedAt = :now, a.version = a.version + 1 where a.id = :id and " + LIVE)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
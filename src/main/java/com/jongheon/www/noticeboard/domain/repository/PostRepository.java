@@ -1,9 +1,99 @@
 package com.jongheon.www.noticeboard.domain.repository;
 
+import com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostSummaryResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostVersionDto;
 import com.jongheon.www.noticeboard.domain.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    // 작성자(Member)를 읽지 않고 게시글 한 행만 읽는다
+    String RESPONSE = "select new com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto(" +
+            "p.id, p.createdAt, p.lastUpdatedAt, p.title, p.content, p.version) from Post p ";
+
+    String EXPORT = "select new com.jongheon.www.noticeboard.domain.dto.response.PostExportDto(" +
+            "p.id, p.createdAt, p.lastUpdatedAt, p.title, p.content, p.views, p.commentCount, p.version) from Post p ";
+
+    // 삭제되지 않은 게시글
+    String LIVE = "p.deletedAt is null";
+
+    @Query(RESPONSE + "where p.id = :id and " + LIVE)
+    Optional<PostResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE + "where p.id > :id and " + LIVE + " order by p.id")
+    List<PostResponseDto> findResponsesAfter(@Param("id") Long id, Pageable pageable);
+
+    // 다른 서버에서 작성, 수정, 삭제한 게시글을 PostSearchIndex에 반영할 때 사용, 복제 지연이 없도록 primary에서 읽는다
+    @Transactional
+    @Query(RESPONSE + "where p.lastUpdatedAt >= :since and " + LIVE)
+    List<PostResponseDto> findResponsesUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Transactional
+    @Query("select p.id from Post p where p.deletedAt >= :since")
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto(" +
+            "p.id, p.views, p.commentCount) from Post p where p.id = :id and " + LIVE)
+    Optional<PostCountsResponseDto> findCountsById(@Param("id") Long id);
+
+    // content 없이 ETag, Last-Modified에 필요한 값만 읽는다
+    @Query("select new com.jongheon.www.noticeboard.domain.dto.response.PostVersionDto(" +
+            "p.id, p.version, p.lastUpdatedAt) from Post p where p.id = :id and " + LIVE)
+    Optional<PostVersionDto> findVersionDtoById(@Param("id") Long id);
+
+    @Query("select p.version from Post p where p.id = :id and " + LIVE)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // 읽지 않고 바로 수정, 다른 요청이 먼저 수정해서 version이 바뀌었다면 0을 반환한다
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Post p set p.title = :title, p.content = :content, p.lastUpdatedAt = :now, " +
+            "p.version = p.version + 1 where p.id = :id and p.version = :version and " + LIVE)
+    int updateIfVersionMatches(@Param("id") Long id, @Param("version") Long version,
+                               @Param("title") String title, @Param("content") String content,
+                               @Param("now") LocalDateTime now);
+
+    // version 없이 요청한 경우 마지막 수정이 반영된다
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Post p set p.title = :title, p.content = :content, p.lastUpdatedAt = :now, " +
+            "p.version = p.version + 1 where p.id = :id and " + LIVE)
+    int update(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Post p set p.deletedAt = :now, p.version = p.version + 1 where p.id = :id and " + LIVE)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    String SUMMARY = "select new com.jongheon.www.noticeboard.domain.dto.response.PostSummaryResponseDto(" +
+            "p.id, p.title, m.name, p.createdAt, p.lastUpdatedAt) from Post p left join p.member m ";
+
+    String LATEST_FIRST = " order by p.createdAt desc, p.id desc";
+
+    @Query(SUMMARY + "where " + LIVE + LATEST_FIRST)
+    List<PostSummaryResponseDto> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "where p.id in :ids and " + LIVE)
+    List<PostSummaryResponseDto> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // (created_at, post_id) 인덱스를 따라 이전 페이지의 마지막 글 다음부터 읽는다
+    @Query(SUMMARY + "where (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) and " + LIVE + LATEST_FIRST)
+    List<PostSummaryResponseDto> findSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
 }
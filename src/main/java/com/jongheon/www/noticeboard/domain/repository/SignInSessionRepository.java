@@ -0,0 +1,31 @@
+package com.jongheon.www.noticeboard.domain.repository;
+
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SignInSessionRepository extends JpaRepository<SignInSession, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from SignInSession s where s.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // 없는 세션을 지워도 예외가 나지 않도록 deleteById 대신 사용한다
+    @Transactional
+    @Modifying
+    @Query("delete from SignInSession s where s.id = :id")
+    int deleteSession(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SignInSession s where s.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") String memberId);
+}
@@ -0,0 +1,110 @@
+package com.jongheon.www.noticeboard.executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 요청의 DB 작업을 Tomcat 스레드 대신 실행하는 전용 실행기
+ * 1. 가상 스레드를 쓸 수 있는 JDK라면 가상 스레드를, 아니면 크기가 정해진 스레드 풀을 사용한다.
+ * 2. 동시에 실행 중인 작업이 max-concurrent를 넘으면 바로 503을 반환한다(bulkhead).
+ * 3. timeout-ms 안에 끝나지 않은 요청도 503을 반환한다.
+ * DB가 느려져도 게시글 요청만 영향을 받고, 로그인이나 정적 파일 요청은 계속 처리된다.
+ */
+@Slf4j
+@Component
+public class PostExecutor implements MeterBinder {
+
+    @Value("${noticeboard.post.executor.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Value("${noticeboard.post.executor.threads:16}")
+    private int threads;
+
+    @Value("${noticeboard.post.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${noticeboard.post.executor.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${noticeboard.post.executor.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ExecutorService executor;
+
+    private Semaphore bulkhead;
+
+    @PostConstruct
+    public void executorPostConstruct(){
+        bulkhead = new Semaphore(maxConcurrent);
+        executor = (virtualThreads ? newVirtualThreadExecutor() : Optional.<ExecutorService>empty())
+                .orElseGet(this::newPlatformThreadExecutor);
+    }
+
+    @PreDestroy
+    public void executorPreDestroy(){
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        Gauge.builder("noticeboard.post.executor.active", bulkhead, semaphore -> maxConcurrent - semaphore.availablePermits())
+                .description("실행 중인 게시글 작업 수")
+                .register(registry);
+    }
+
+    public <T> CompletableFuture<ResponseEntity<T>> submit(final Supplier<ResponseEntity<T>> task){
+        if(!bulkhead.tryAcquire()){
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        CompletableFuture<ResponseEntity<T>> future;
+        try {
+            // 응답이 timeout 되어도 작업이 실제로 끝나야 자리를 반납한다
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    bulkhead.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        // timeout은 복사본에만 적용해 원래 작업의 완료와 분리한다
+        return future.copy().completeOnTimeout(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE), timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // JDK 21 이상에서만 있는 Executors.newVirtualThreadPerTaskExecutor
+    private Optional<ExecutorService> newVirtualThreadExecutor(){
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Post executor uses virtual threads");
+            return Optional.of(virtual);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private ExecutorService newPlatformThreadExecutor(){
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "post-executor");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,120 @@
+package com.jongheon.www.noticeboard.limiter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 시도 횟수 제한
+ * 회원 id와 요청 IP 각각에 대해 refill-period-seconds 동안 capacity 번까지 시도할 수 있다.
+ * 시도 가능 횟수는 시간이 지나면 조금씩 회복된다(GCRA 방식의 token bucket).
+ * 각 키의 상태는 다음 시도가 허용되는 시각 하나(AtomicLong)이며 CAS로만 변경하므로 락이 없다.
+ * 비밀번호 암호화보다 먼저 검사하여, 무차별 대입 시도가 CPU를 쓰지 못하게 한다.
+ * 로그인과 비밀번호 변경처럼 비밀번호를 확인하는 요청은 모두 같은 제한을 받는다.
+ */
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    @Value("${noticeboard.limiter.login.id.capacity:10}")
+    private int idCapacity;
+
+    @Value("${noticeboard.limiter.login.id.refill-period-seconds:60}")
+    private long idRefillPeriodSeconds;
+
+    @Value("${noticeboard.limiter.login.ip.capacity:100}")
+    private int ipCapacity;
+
+    @Value("${noticeboard.limiter.login.ip.refill-period-seconds:60}")
+    private long ipRefillPeriodSeconds;
+
+    @Value("${noticeboard.limiter.login.maximum-keys:1000000}")
+    private long maximumKeys;
+
+    private Limit idLimit;
+
+    private Limit ipLimit;
+
+    private final AtomicLong rejectedById = new AtomicLong();
+
+    private final AtomicLong rejectedByIp = new AtomicLong();
+
+    @PostConstruct
+    public void limiterPostConstruct(){
+        idLimit = new Limit(idCapacity, idRefillPeriodSeconds, maximumKeys);
+        ipLimit = new Limit(ipCapacity, ipRefillPeriodSeconds, maximumKeys);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry){
+        FunctionCounter.builder("noticeboard.login.rejected", rejectedById, AtomicLong::get)
+                .tag("key", "id").register(registry);
+        FunctionCounter.builder("noticeboard.login.rejected", rejectedByIp, AtomicLong::get)
+                .tag("key", "ip").register(registry);
+    }
+
+    public boolean tryAcquire(final String id, final String ip){
+        long now = System.nanoTime();
+        if(!ipLimit.tryAcquire(ip, now)){
+            rejectedByIp.incrementAndGet();
+            return false;
+        }
+        if(!idLimit.tryAcquire(id, now)){
+            rejectedById.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getRejectedById(){
+        return rejectedById.get();
+    }
+
+    public long getRejectedByIp(){
+        return rejectedByIp.get();
+    }
+
+    private static class Limit {
+
+        // 시도 하나가 회복되는 데 걸리는 시간
+        private final long emissionNanos;
+
+        // 한번에 몰아서 시도할 수 있는 양
+        private final long toleranceNanos;
+
+        // 키 → 시도 가능 횟수가 모두 회복되는 시각, 회복된 키는 자동으로 제거된다
+        private final Cache<String, AtomicLong> buckets;
+
+        Limit(final int capacity, final long refillPeriodSeconds, final long maximumKeys){
+            // 잘못된 설정으로 0으로 나누거나 제한이 풀리지 않도록 시작할 때 확인한다
+            if(capacity <= 0 || refillPeriodSeconds <= 0 || TimeUnit.SECONDS.toNanos(refillPeriodSeconds) < capacity){
+                throw new IllegalStateException("login limiter needs 0 < capacity <= refill period in nanoseconds (capacity: "
+                        + capacity + ", refill-period-seconds: " + refillPeriodSeconds + ")");
+            }
+            this.emissionNanos = TimeUnit.SECONDS.toNanos(refillPeriodSeconds) / capacity;
+            this.toleranceNanos = emissionNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofSeconds(refillPeriodSeconds))
+                    .maximumSize(maximumKeys)
+                    .build();
+        }
+
+        boolean tryAcquire(final String key, final long now){
+            AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+            while(true){
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + emissionNanos;
+                if(next - now > toleranceNanos) return false;
+                if(theoreticalArrival.compareAndSet(current, next)) return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.jongheon.www.noticeboard.search;
+
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 게시글 제목, 내용에 대한 메모리 역색인
+ * 1. 단어 → (게시글 id → 가중치) 를 저장하여 검색 시 테이블을 훑지 않는다.
+ * 2. 제목에 나온 단어는 내용보다 TITLE_WEIGHT 배 높은 가중치를 가진다.
+ * 3. 한글이 들어간 단어는 조사가 붙어도 찾을 수 있도록 두 글자씩 잘라서 색인한다.
+ * 게시글이 작성, 수정될 때마다 PostService가 index를 호출하여 갱신한다.
+ * 4. 시작할 때 전체를 읽어 만들고, 다른 서버에서 바뀐 게시글은 sync-interval-ms 마다 lastUpdatedAt, deletedAt으로 찾아 반영한다.
+ * 5. 전체 색인과 동기화는 읽기 시작한 뒤 index, remove로 바뀐 게시글을 먼저 읽어둔 이전 내용으로 덮어쓰지 않는다.
+ * 다른 서버에서 post_archive로 옮긴 게시글은 색인에 남지만, 검색 결과를 post에서 읽을 때 빠진다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern HANGUL = Pattern.compile(".*\\p{IsHangul}.*");
+
+    // 점수가 같으면 최신 글(큰 id)이 앞선다
+    private static final Comparator<Map.Entry<Long, Double>> SCORE_ORDER =
+            Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.<Long, Double>comparingByKey());
+
+    // 단어 → (게시글 id → 가중치)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+
+    // 게시글 id → 색인된 단어, 수정/삭제 시 기존 단어를 지우기 위해 사용한다
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    // 게시글 id → 마지막으로 index, remove된 순번, 전체 색인과 동기화가 시작된 뒤 바뀐 게시글을 알아내기 위해 사용한다
+    private final Map<Long, Long> touched = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 다른 서버에서 바뀐 게시글을 여기부터 찾는다, 전체 색인을 시작하기 전에는 null
+    private volatile LocalDateTime syncedSince;
+
+    @Value("${noticeboard.search.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    @Value("${noticeboard.search.build-page-size:1000}")
+    private int buildPageSize;
+
+    @Value("${noticeboard.search.sync-overlap-seconds:10}")
+    private long syncOverlapSeconds;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup(){
+        if(!buildOnStartup) return;
+        Thread builder = new Thread(this::build, "post-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    // 게시글 id 순서대로 buildPageSize 개씩 읽어 색인한다
+    void build(){
+        long started = sequence.get();
+        LocalDateTime scanStarted = LocalDateTime.now();
+        long lastId = 0L;
+        int indexed = 0;
+        List<PostResponseDto> page;
+        do {
+            page = postRepository.findResponsesAfter(lastId, PageRequest.of(0, buildPageSize));
+            for(PostResponseDto post : page){
+                indexIfUntouched(post, started);
+                lastId = post.getId();
+            }
+            indexed += page.size();
+        } while(page.size() == buildPageSize);
+        forgetTouchedBefore(started);
+        syncedSince = scanStarted;
+        log.info("Post search index built with {} posts", indexed);
+    }
+
+    // lastUpdatedAt은 커밋보다 먼저 정해지고 서버마다 시계가 다르므로 sync-overlap-seconds 만큼 겹쳐 읽는다
+    @Scheduled(fixedDelayString = "${noticeboard.search.sync-interval-ms:5000}")
+    public void syncChanges(){
+        LocalDateTime since = syncedSince;
+        if(since == null) return;
+        long started = sequence.get();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = since.minusSeconds(syncOverlapSeconds);
+        postRepository.findResponsesUpdatedSince(from).forEach(post -> indexIfUntouched(post, started));
+        postRepository.findIdsDeletedSince(from).forEach(id -> removeIfUntouched(id, started));
+        forgetTouchedBefore(started);
+        syncedSince = now;
+    }
+
+    public void index(final Long id, final String title, final String content){
+        Map<String, Integer> weights = weightsOf(title, content);
+        // 같은 게시글에 대한 색인 변경끼리는 직렬화한다
+        documents.compute(id, (key, previous) -> {
+            touched.put(key, sequence.incrementAndGet());
+            return replace(key, previous, weights);
+        });
+    }
+
+    public void remove(final Long id){
+        documents.compute(id, (key, previous) -> {
+            touched.put(key, sequence.incrementAndGet());
+            return replace(key, previous, Map.of());
+        });
+    }
+
+    // started 이후 index, remove된 게시글은 이미 더 새로운 내용이므로 그대로 둔다
+    private void indexIfUntouched(final PostResponseDto post, final long started){
+        Map<String, Integer> weights = weightsOf(post.getTitle(), post.getContent());
+        documents.compute(post.getId(), (key, previous) ->
+                touched.getOrDefault(key, 0L) > started ? previous : replace(key, previous, weights));
+    }
+
+    private void removeIfUntouched(final Long id, final long started){
+        documents.compute(id, (key, previous) ->
+                touched.getOrDefault(key, 0L) > started ? previous : replace(key, previous, Map.of()));
+    }
+
+    // 읽는 중인 전체 색인이나 동기화가 없으면 순번을 기억할 필요가 없다
+    private void forgetTouchedBefore(final long started){
+        touched.values().removeIf(touchedAt -> touchedAt <= started);
+    }
+
+    private static Map<String, Integer> weightsOf(final String title, final String content){
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(content).forEach(term -> weights.merge(term, 1, Integer::sum));
+        return weights;
+    }
+
+    // 기존 단어를 지우고 새 단어를 넣는다, 단어가 없으면 색인에서 빠진다
+    private Set<String> replace(final Long id, final Set<String> previous, final Map<String, Integer> weights){
+        if(previous != null) previous.forEach(term -> removePosting(term, id));
+        if(weights.isEmpty()) return null;
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(id, weight));
+        return weights.keySet();
+    }
+
+    private void removePosting(final String term, final Long id){
+        postings.computeIfPresent(term, (t, posts) -> {
+            posts.remove(id);
+            return posts.isEmpty() ? null : posts;
+        });
+    }
+
+    /**
+     * 검색 메서드
+     * 검색어의 단어가 많이 나올수록, 드물게 나오는 단어일수록 높은 점수를 받는다(tf-idf).
+     *
+     * @return 점수가 높은 순서로 page 번째 페이지의 게시글 id, 전체 검색 결과 수
+     */
+    public SearchResult search(final String query, final int page, final int size){
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCnt = Math.max(documents.size(), 1);
+        for(String term : new HashSet<>(tokenize(query))){
+            Map<Long, Integer> posts = postings.get(term);
+            if(posts == null) continue;
+            double idf = Math.log(1.0 + (double) documentCnt / posts.size());
+            posts.forEach((id, weight) -> scores.merge(id, weight * idf, Double::sum));
+        }
+
+        // 요청한 페이지가 결과보다 뒤라면 고를 필요가 없다, page가 커도 넘치지 않도록 long으로 계산한다
+        long offset = (long) page * size;
+        if(offset >= scores.size()) return new SearchResult(Collections.emptyList(), scores.size());
+
+        // 필요한 만큼만 남기는 min-heap으로 상위 (page + 1) * size 개를 고른다
+        int limit = (int) Math.min(offset + size, scores.size());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, SCORE_ORDER);
+        for(Map.Entry<Long, Double> entry : scores.entrySet()){
+            top.offer(entry);
+            if(top.size() > limit) top.poll();
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(SCORE_ORDER.reversed());
+
+        List<Long> ids = new ArrayList<>(ranked.size() - (int) offset);
+        for(int i = (int) offset; i < ranked.size(); i++){
+            ids.add(ranked.get(i).getKey());
+        }
+        return new SearchResult(ids, scores.size());
+    }
+
+    static List<String> tokenize(final String text){
+        if(text == null) return Collections.emptyList();
+        List<String> terms = new ArrayList<>();
+        for(String word : DELIMITER.split(text.toLowerCase(Locale.ROOT))){
+            if(word.isEmpty()) continue;
+            if(word.length() > 2 && HANGUL.matcher(word).matches()){
+                for(int i = 0; i + 2 <= word.length(); i++){
+                    terms.add(word.substring(i, i + 2));
+                }
+            } else {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+
+        private final List<Long> ids;
+
+        private final long totalCount;
+    }
+}
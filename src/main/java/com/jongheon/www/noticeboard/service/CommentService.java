@@ -0,0 +1,121 @@
+package com.jongheon.www.noticeboard.service;
+
+import com.jongheon.www.noticeboard.counter.PostCommentCounter;
+import com.jongheon.www.noticeboard.domain.dto.request.CommentRequestDto;
+import com.jongheon.www.noticeboard.domain.dto.response.CommentPageResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.CommentResponseDto;
+import com.jongheon.www.noticeboard.domain.entity.Comment;
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.CommentRepository;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import com.jongheon.www.noticeboard.domain.repository.PostArchiveRepository;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.util.*;
+
+@Service
+public class CommentService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostArchiveRepository postArchiveRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PostCommentCounter postCommentCounter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 댓글 작성 메서드
+     * 답글은 부모 댓글의 path 뒤에 자신의 id를 붙이며, 깊이는 Comment.MAX_DEPTH 까지 허용한다.
+     * 게시글의 댓글 수는 PostCommentCounter가 모아서 반영한다.
+     */
+    public ResponseEntity<String> Comment(final Long postId, final CommentRequestDto commentRequestDto) {
+        if(!validator.validate(commentRequestDto).isEmpty()){
+            return new ResponseEntity<>("Invalid Comment", HttpStatus.BAD_REQUEST);
+        }
+
+        ResponseEntity<String> response = transactionTemplate.execute(status -> saveComment(postId, commentRequestDto));
+        if(response.getStatusCode() == HttpStatus.OK){
+            postCommentCounter.increment(postId);
+        }
+        return response;
+    }
+
+    private ResponseEntity<String> saveComment(final Long postId, final CommentRequestDto commentRequestDto) {
+        // 삭제된 게시글에는 댓글을 달 수 없다, PostArchiver가 옮긴 게시글에는 달 수 있다
+        if(postRepository.findVersionById(postId).or(() -> postArchiveRepository.findVersionById(postId)).isEmpty()){
+            return new ResponseEntity<>("No Such Post", HttpStatus.NOT_FOUND);
+        }
+        Optional<Member> member = memberRepository.findById(commentRequestDto.getMemberId());
+        if(member.isEmpty()){
+            return new ResponseEntity<>("No Such Member", HttpStatus.NOT_FOUND);
+        }
+
+        String parentPath = "";
+        int depth = 0;
+        if(commentRequestDto.getParentId() != null){
+            Optional<Comment> parent = commentRepository.findById(commentRequestDto.getParentId())
+                    .filter(comment -> comment.getPostId().equals(postId));
+            if(parent.isEmpty()){
+                return new ResponseEntity<>("No Such Comment", HttpStatus.NOT_FOUND);
+            }
+            if(parent.get().getDepth() + 1 >= Comment.MAX_DEPTH){
+                return new ResponseEntity<>("Comment Too Deep", HttpStatus.BAD_REQUEST);
+            }
+            parentPath = parent.get().getPath();
+            depth = parent.get().getDepth() + 1;
+        }
+
+        Comment comment = commentRepository.save(Comment.builder().postId(postId).parentId(commentRequestDto.getParentId())
+                .path(parentPath).depth(depth).member(member.get()).content(commentRequestDto.getContent()).build());
+        comment.appendIdToPath();
+        return new ResponseEntity<>("Comment Success", HttpStatus.OK);
+    }
+
+    /**
+     * 댓글 조회 메서드
+     * 1. after(이전 페이지의 next) 다음부터 트리 순서로 size개를 쿼리 한 번으로 읽는다.
+     * 2. path 순서이므로 부모 댓글이 항상 먼저 나오고, 읽은 순서대로 부모의 replies에 붙여 트리를 만든다.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<CommentPageResponseDto> ReadComments(final Long postId, final String after, final int size) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<CommentResponseDto> comments = commentRepository.findResponsesAfter(postId, after == null ? "" : after, pageable);
+
+        Map<Long, CommentResponseDto> commentById = new HashMap<>();
+        List<CommentResponseDto> roots = new ArrayList<>();
+        for (CommentResponseDto comment : comments) {
+            CommentResponseDto parent = comment.getParentId() == null ? null : commentById.get(comment.getParentId());
+            if(parent == null) roots.add(comment);
+            else parent.getReplies().add(comment);
+            commentById.put(comment.getId(), comment);
+        }
+
+        String next = comments.size() < pageable.getPageSize() ? null : comments.get(comments.size() - 1).getPath();
+        return new ResponseEntity<>(new CommentPageResponseDto(roots, next), HttpStatus.OK);
+    }
+}
@@ -1,14 +1,17 @@
 package com.jongheon.www.noticeboard.service;
 
 import com.jongheon.www.noticeboard.cache.MemberCache;
-import com.jongheon.www.noticeboard.cipher.SHA256;
+import com.jongheon.www.noticeboard.cipher.CipherUnavailableException;
+import com.jongheon.www.noticeboard.cipher.PasswordCipher;
 import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.session.SignInSessionManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import javax.servlet.http.HttpSession;
+import java.util.Optional;
 
 @Service
 public class MemberService {
@@ -17,47 +20,73 @@ public class MemberService {
     private MemberCache memberCache;
 
     @Autowired
-    private SHA256 sha256;
+    private PasswordCipher passwordCipher;
 
     @Autowired
-    private HttpSession httpSession;
+    private SignInSessionManager signInSessionManager;
 
     /**
      * 회원가입 메서드
-     * 1. 입력한 아이디와 비밀번호를 SHA256 암호화
+     * 1. 입력한 아이디와 비밀번호를 PBKDF2 암호화
      * 2. MemberCache의 addNewMember 함수를 통해 새로운 멤버를 추가
      *
      * @return
      * 회원가입 성공 시 "회원가입에 성공하였습니다"
-     * 비밀번호 SHA256 암호화 에러시 "관리자에게 문의해 주시기 바랍니다(Error.01)"
+     * 비밀번호 암호화 에러시 "관리자에게 문의해 주시기 바랍니다(Error.01)"
      * 아이디 중복 시 "존재하는 아이디 입니다"
+     * 암호화 스레드 풀이 가득 찬 경우 503
      */
     public ResponseEntity<String> SignUp(final String id, final String password, final String name) {
-        return sha256.Encrypt(id + password)
+        try {
+            return signUp(id, password, name);
+        } catch (CipherUnavailableException e) {
+            return cipherUnavailable();
+        }
+    }
+
+    private ResponseEntity<String> signUp(final String id, final String password, final String name) {
+        return passwordCipher.Encrypt(id + password)
                 .map(encryptedPwd -> {
                     Member newMember = Member.builder()
                             .memberId(id).name(name).password(encryptedPwd).loginFailCnt(0).build();
-                    return memberCache.addNewMember(newMember) ?
-                            new ResponseEntity<>("회원가입에 성공하였습니다", HttpStatus.OK) :
-                            new ResponseEntity<>("존재하는 아이디 입니다", HttpStatus.NOT_FOUND);
+                    try {
+                        return memberCache.addNewMember(newMember) ?
+                                new ResponseEntity<>("회원가입에 성공하였습니다", HttpStatus.OK) :
+                                new ResponseEntity<>("존재하는 아이디 입니다", HttpStatus.NOT_FOUND);
+                    } catch (DataIntegrityViolationException e) {
+                        // 확인과 INSERT 사이에 다른 서버에서 같은 아이디로 가입한 경우
+                        return new ResponseEntity<>("존재하는 아이디 입니다", HttpStatus.NOT_FOUND);
+                    }
                 }).orElse(new ResponseEntity<>("관리자에게 문의해 주시기 바랍니다(Error.01)", HttpStatus.NOT_FOUND));
     }
 
     /**
      * 로그인 메서드
-     * 1. 입력한 아이디와 빔리번호를 암호화 한다.
-     * 2. MemberCache의 isRightLoginInfo 함수를 통해 로그인이 가능한지 검사
+     * 1. MemberCache의 isRightLoginInfo 함수를 통해 입력한 비밀번호가 저장된 비밀번호와 같은지 검사
+     * 2. 기존 SHA256 방식으로 저장된 비밀번호라면 PBKDF2로 다시 암호화하여 저장한다.
+     * 3. SignInSessionManager를 통해 로그인 상태를 저장하고 쿠키로 토큰을 내려준다.
      *
      *  @return
      *  아이디 혹은 비밀번호가 잘못된 경우, 로그인이 10회 이상 실패한 경우 "로그인 실패"
      *  로그인 성공시 "로그인 성공"
+     *  암호화 스레드 풀이 가득 차 비밀번호를 확인하지 못한 경우 503, 로그인 실패 횟수는 올리지 않는다
      */
     public ResponseEntity<String> SignIn(final String id, final String password) {
-        return sha256.Encrypt(id + password)
-                .filter(encryptedPwd -> memberCache.isRightLoginInfo(id, encryptedPwd))
-                .map(pwd -> {
-                    memberCache.resetLoginFailCnt(id);
-                    httpSession.setAttribute("Member", memberCache.getMemberInfo(id).get());
+        try {
+            return signIn(id, password);
+        } catch (CipherUnavailableException e) {
+            return cipherUnavailable();
+        }
+    }
+
+    private ResponseEntity<String> signIn(final String id, final String password) {
+        return Optional.of(id)
+                .filter(memberId -> memberCache.isRightLoginInfo(memberId,
+                        encryptedPwd -> passwordCipher.matches(memberId + password, encryptedPwd)))
+                .map(memberId -> {
+                    memberCache.resetLoginFailCnt(memberId);
+                    upgradePassword(memberId, password);
+                    signInSessionManager.signIn(memberCache.getMemberInfo(memberId).get());
                     return new ResponseEntity<>("로그인 성공", HttpStatus.OK);
                 }).orElseGet(() -> {
                     memberCache.addLoginFailCnt(id);
@@ -65,23 +94,66 @@ public class MemberService {
                 });
     }
 
+    // 로그인에 성공한 비밀번호가 예전 방식으로 저장되어 있다면 현재 방식으로 다시 저장
+    // 암호화 스레드 풀이 가득 차 있으면 다음 로그인 때 다시 시도한다
+    private void upgradePassword(final String id, final String password) {
+        try {
+            memberCache.getMemberInfo(id)
+                    .filter(member -> passwordCipher.needsRehash(member.getPassword()))
+                    .flatMap(member -> passwordCipher.Encrypt(id + password))
+                    .ifPresent(encryptedPwd -> memberCache.updateMemberPassword(id, encryptedPwd));
+        } catch (CipherUnavailableException e) {
+            // 로그인은 이미 성공했으므로 그대로 진행한다
+        }
+    }
+
+    /**
+     * 로그아웃 메서드
+     * 로그인 상태와 쿠키를 지운다, 로그인하지 않은 상태여도 성공으로 처리한다.
+     */
+    public ResponseEntity<String> SignOut() {
+        signInSessionManager.signOut();
+        return new ResponseEntity<>("로그아웃 성공", HttpStatus.OK);
+    }
+
     /**
      * 비밀번호 변경 메서드
-     * 1. 로그인 가능 함수를 통해 올바른 비밀번호인지 검사
-     * 2. 새로운 비밀번호로 변경한다.
+     * 1. 로그인 가능 함수를 통해 올바른 비밀번호인지 검사, 틀리면 로그인과 같이 실패 횟수를 올린다
+     * 2. 새로운 비밀번호로 변경하고, 기존 로그인 상태는 모두 지운다.
      *
      * @return
      * 아이디, 비밀번호가 잘못된 경우 "비밀번호 오류"
      * 비밀번호 변경 성공 시 "비밀번호 변경 성공"
+     * 암호화 스레드 풀이 가득 찬 경우 503
      */
     public ResponseEntity<String> ModifyUserInfo(final String id, final String password, final String newPassword) {
-        return sha256.Encrypt(id + password)
-                .filter(encryptedPwd -> memberCache.isRightLoginInfo(id, encryptedPwd))
-                .map(pwd ->
-                    sha256.Encrypt(id + newPassword)
+        try {
+            return modifyUserInfo(id, password, newPassword);
+        } catch (CipherUnavailableException e) {
+            return cipherUnavailable();
+        }
+    }
+
+    private ResponseEntity<String> modifyUserInfo(final String id, final String password, final String newPassword) {
+        return Optional.of(id)
+                .filter(memberId -> memberCache.isRightLoginInfo(memberId,
+                        encryptedPwd -> passwordCipher.matches(memberId + password, encryptedPwd)))
+                .map(memberId -> {
+                    memberCache.resetLoginFailCnt(memberId);
+                    return passwordCipher.Encrypt(id + newPassword)
                             .filter(encryptedNewPwd -> memberCache.updateMemberPassword(id, encryptedNewPwd))
-                            .map(newPwd -> new ResponseEntity<>("비밀번호 변경 성공", HttpStatus.OK))
-                            .orElse(new ResponseEntity<>("비밀번호 변경 실패", HttpStatus.NOT_FOUND))
-                ).orElse(new ResponseEntity<>("비밀번호 오류", HttpStatus.NOT_FOUND));
+                            .map(newPwd -> {
+                                signInSessionManager.signOutEverywhere(id);
+                                return new ResponseEntity<>("비밀번호 변경 성공", HttpStatus.OK);
+                            })
+                            .orElse(new ResponseEntity<>("비밀번호 변경 실패", HttpStatus.NOT_FOUND));
+                }).orElseGet(() -> {
+                    memberCache.addLoginFailCnt(id);
+                    return new ResponseEntity<>("비밀번호 오류", HttpStatus.NOT_FOUND);
+                });
+    }
+
+    private ResponseEntity<String> cipherUnavailable() {
+        return new ResponseEntity<>("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요", HttpStatus.SERVICE_UNAVAILABLE);
     }
 }
@@ -1,51 +1,406 @@
 package com.jongheon.www.noticeboard.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jongheon.www.noticeboard.cache.PostCache;
+import com.jongheon.www.noticeboard.counter.PostViewCounter;
 import com.jongheon.www.noticeboard.domain.dto.request.PostRequestDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostBatchResultDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostCountsResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostExportDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostPageResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostSearchResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostSummaryResponseDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostVersionDto;
 import com.jongheon.www.noticeboard.domain.entity.Member;
 import com.jongheon.www.noticeboard.domain.entity.Post;
 import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import com.jongheon.www.noticeboard.domain.repository.PostArchiveRepository;
 import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import com.jongheon.www.noticeboard.search.PostSearchIndex;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostArchiveRepository postArchiveRepository;
+
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${noticeboard.post.batch-size:500}")
+    private int batchSize;
+
+    @Value("${noticeboard.post.export-fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Value("${noticeboard.post.cache-control:no-cache}")
+    private String cacheControl;
+
     public ResponseEntity<String> Post(final PostRequestDto postRequestDto) {
         Optional<Member> member = memberRepository.findById(postRequestDto.getMemberId());
         if(member.isEmpty()){
             return new ResponseEntity<>("No Such Member", HttpStatus.NOT_FOUND);
         }
 
-        postRepository.save(Post.builder().member(member.get()).title(postRequestDto.getTitle())
+        Post post = postRepository.save(Post.builder().member(member.get()).title(postRequestDto.getTitle())
                 .content(postRequestDto.getContent()).build());
+        postSearchIndex.index(post.getId(), post.getTitle(), post.getContent());
 
         return new ResponseEntity<>("Post Success", HttpStatus.OK);
     }
 
-    public ResponseEntity<Post> ReadById(final Long id) {
-        return postRepository.findById(id)
-                .map(post -> new ResponseEntity<>(post, HttpStatus.OK))
+    /**
+     * 게시글 일괄 등록 메서드
+     * 1. JSON 배열을 전부 읽지 않고, 게시글을 하나씩 읽어 batchSize개 단위로 나눈다.
+     * 2. 나눈 단위마다 작성자를 findAllById 한 번으로 찾고, 하나의 트랜잭션에서 JDBC batch insert로 저장한다.
+     * 3. 저장한 단위는 영속성 컨텍스트에서 비워 메모리가 늘어나지 않게 한다.
+     *
+     * @return
+     * 게시글마다 순서(index), 저장된 id, 상태 코드, 메시지
+     * JSON 형식이 잘못된 경우 그 전까지의 결과와 함께 BAD_REQUEST
+     */
+    public ResponseEntity<List<PostBatchResultDto>> PostBatch(final InputStream inputStream) throws IOException {
+        List<PostBatchResultDto> results = new ArrayList<>();
+        List<PostRequestDto> chunk = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if(parser.nextToken() != JsonToken.START_ARRAY){
+                results.add(new PostBatchResultDto(0, null, HttpStatus.BAD_REQUEST.value(), "JSON Array Required"));
+                return new ResponseEntity<>(results, HttpStatus.BAD_REQUEST);
+            }
+            JsonToken token;
+            while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+                // 객체가 아닌 원소 뒤의 게시글을 조용히 버리지 않도록 잘못된 JSON으로 처리한다
+                if(token != JsonToken.START_OBJECT) throw new JsonParseException(parser, "JSON Object Required");
+                chunk.add(parser.readValueAs(PostRequestDto.class));
+                if(chunk.size() >= batchSize){
+                    results.addAll(savePostChunk(results.size(), chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            results.addAll(savePostChunk(results.size(), chunk));
+            results.add(new PostBatchResultDto(results.size(), null, HttpStatus.BAD_REQUEST.value(), "Malformed JSON"));
+            return new ResponseEntity<>(results, HttpStatus.BAD_REQUEST);
+        }
+        results.addAll(savePostChunk(results.size(), chunk));
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    private List<PostBatchResultDto> savePostChunk(final int startIndex, final List<PostRequestDto> chunk) {
+        if(chunk.isEmpty()) return List.of();
+
+        PostBatchResultDto[] results = new PostBatchResultDto[chunk.size()];
+        Map<Integer, Post> posts = new LinkedHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> memberIds = new HashSet<>();
+            chunk.forEach(dto -> memberIds.add(dto.getMemberId()));
+            Map<String, Member> members = new HashMap<>();
+            memberRepository.findAllById(memberIds).forEach(member -> members.put(member.getMemberId(), member));
+
+            for(int i = 0; i < chunk.size(); i++){
+                PostRequestDto dto = chunk.get(i);
+                Set<ConstraintViolation<PostRequestDto>> violations = validator.validate(dto);
+                if(!violations.isEmpty()){
+                    ConstraintViolation<PostRequestDto> violation = violations.iterator().next();
+                    results[i] = new PostBatchResultDto(startIndex + i, null, HttpStatus.BAD_REQUEST.value(),
+                            violation.getPropertyPath() + " " + violation.getMessage());
+                } else if(!members.containsKey(dto.getMemberId())){
+                    results[i] = new PostBatchResultDto(startIndex + i, null, HttpStatus.NOT_FOUND.value(), "No Such Member");
+                } else {
+                    posts.put(i, Post.builder().member(members.get(dto.getMemberId()))
+                            .title(dto.getTitle()).content(dto.getContent()).build());
+                }
+            }
+            postRepository.saveAll(posts.values());
+            entityManager.flush();
+        });
+        entityManager.clear();
+
+        posts.forEach((i, post) -> {
+            postSearchIndex.index(post.getId(), post.getTitle(), post.getContent());
+            results[i] = new PostBatchResultDto(startIndex + i, post.getId(), HttpStatus.OK.value(), "Post Success");
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 게시글 내보내기 메서드
+     * 게시글을 id 순서로 한 줄에 하나씩 JSON으로 outputStream에 바로 쓴다(NDJSON).
+     * 전방향 커서로 exportFetchSize 개씩 가져오고, 엔티티가 아닌 DTO로 읽으므로
+     * 영속성 컨텍스트에 쌓이지 않아 게시글 수와 관계없이 메모리 사용량이 일정하다.
+     * MySQL에서는 접속 URL에 useCursorFetch=true가 있어야 fetch size 단위로 가져온다.
+     */
+    @Transactional(readOnly = true)
+    public void Export(final OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+
+        try (Stream<PostExportDto> posts = entityManager
+                .createQuery(PostRepository.EXPORT + "where " + PostRepository.LIVE + " order by p.id", PostExportDto.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            Iterator<PostExportDto> iterator = posts.iterator();
+            long written = 0;
+            while(iterator.hasNext()){
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if(++written % exportFetchSize == 0) generator.flush();
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * 게시글 조회 메서드
+     * ETag(id, version)와 Last-Modified(lastUpdatedAt)를 함께 내려준다.
+     * version이 바뀌지 않아도 달라지는 조회수, 댓글 수는 본문에 넣지 않고 ReadCounts로 따로 내려준다.
+     * If-None-Match, If-Modified-Since로 요청했고 그 사이 수정되지 않았다면
+     * content를 읽지 않고 NOT_MODIFIED를 반환하며, 조회수도 올리지 않는다.
+     *
+     * @param ifNoneMatch If-None-Match 헤더 값, 없으면 빈 리스트
+     * @param ifModifiedSince If-Modified-Since 헤더 값(epoch millis), 없으면 -1
+     */
+    // 수정 직후 replica의 이전 게시글이 캐시에 들어가거나 304로 확인되지 않도록 primary에서 읽는다
+    @Transactional
+    public ResponseEntity<PostResponseDto> ReadById(final Long id, final List<String> ifNoneMatch, final long ifModifiedSince) {
+        if(!ifNoneMatch.isEmpty() || ifModifiedSince >= 0){
+            Optional<PostVersionDto> version = postCache.peek(id)
+                    .map(post -> new PostVersionDto(post.getId(), post.getVersion(), post.getLastUpdatedAt()))
+                    .or(() -> postRepository.findVersionDtoById(id))
+                    .or(() -> postArchiveRepository.findVersionDtoById(id));
+            if(version.isEmpty()){
+                return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+            }
+            String eTag = eTagOf(version.get().getId(), version.get().getVersion());
+            long lastModified = lastModifiedOf(version.get().getLastUpdatedAt());
+            if(isNotModified(eTag, lastModified, ifNoneMatch, ifModifiedSince)){
+                return conditionalHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+            }
+        }
+
+        return postCache.getPost(id)
+                .map(post -> {
+                    postViewCounter.increment(id);
+                    return conditionalHeaders(ResponseEntity.ok(), eTagOf(post.getId(), post.getVersion()),
+                            lastModifiedOf(post.getLastUpdatedAt())).body(post);
+                })
                 .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
     }
 
+    private ResponseEntity.BodyBuilder conditionalHeaders(ResponseEntity.BodyBuilder builder, String eTag, long lastModified) {
+        builder.eTag(eTag).header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if(lastModified >= 0) builder.lastModified(lastModified);
+        return builder;
+    }
+
+    // 본문은 수정될 때만 바뀌고 그때마다 version이 오르므로 id와 version만으로 본문을 구분할 수 있다
+    private static String eTagOf(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static long lastModifiedOf(LocalDateTime lastUpdatedAt) {
+        return lastUpdatedAt == null ? -1 : lastUpdatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // If-None-Match가 있으면 If-Modified-Since는 보지 않는다 (RFC 7232 3.3)
+    private static boolean isNotModified(String eTag, long lastModified, List<String> ifNoneMatch, long ifModifiedSince) {
+        if(!ifNoneMatch.isEmpty()){
+            return ifNoneMatch.stream()
+                    .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+        }
+        // HTTP 날짜는 초 단위이므로 밀리초는 버리고 비교한다
+        return lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * 게시글 조회수, 댓글 수 조회 메서드
+     * 수정 없이도 계속 바뀌므로 ETag 없이 내려주며, 증가량은 PostCounterBuffer가 DB에 반영한 뒤에 보인다.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostCountsResponseDto> ReadCounts(final Long id) {
+        return postRepository.findCountsById(id)
+                .or(() -> postArchiveRepository.findCountsById(id))
+                .map(counts -> ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-store").body(counts))
+                .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * 게시글 목록 조회 메서드
+     * createdAt, lastId가 없으면 최신 글부터, 있으면 해당 글 다음부터 size개를 읽는다.
+     * OFFSET을 쓰지 않으므로 몇 번째 페이지든 비용이 같다.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostPageResponseDto> ReadList(final LocalDateTime createdAt, final Long lastId, final int size) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<PostSummaryResponseDto> posts = (createdAt == null || lastId == null) ?
+                postRepository.findSummaries(pageable) :
+                postRepository.findSummariesBefore(createdAt, lastId, pageable);
+
+        if(posts.size() < pageable.getPageSize()){
+            return new ResponseEntity<>(new PostPageResponseDto(posts, null, null), HttpStatus.OK);
+        }
+        PostSummaryResponseDto last = posts.get(posts.size() - 1);
+        return new ResponseEntity<>(new PostPageResponseDto(posts, last.getCreatedAt(), last.getId()), HttpStatus.OK);
+    }
+
+    /**
+     * 게시글 검색 메서드
+     * PostSearchIndex에서 순위가 매겨진 id를 얻은 뒤, 해당 게시글들의 요약 정보만 한 번에 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<PostSearchResponseDto> Search(final String query, final int page, final int size) {
+        PostSearchIndex.SearchResult result = postSearchIndex.search(query, Math.max(page, 0),
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        if(result.getIds().isEmpty()){
+            return new ResponseEntity<>(new PostSearchResponseDto(List.of(), result.getTotalCount()), HttpStatus.OK);
+        }
+
+        return new ResponseEntity<>(new PostSearchResponseDto(findSummariesInOrder(result.getIds()), result.getTotalCount()),
+                HttpStatus.OK);
+    }
+
+    /**
+     * 인기 게시글 조회 메서드
+     * PostViewCounter가 메모리에 계산해 둔 순서대로 게시글 요약 정보를 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<PostSummaryResponseDto>> ReadTrending() {
+        List<Long> ids = postViewCounter.getTrending();
+        if(ids.isEmpty()){
+            return new ResponseEntity<>(List.of(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(findSummariesInOrder(ids), HttpStatus.OK);
+    }
+
+    // ids 순서를 유지하며 요약 정보를 한 번의 쿼리로 읽는다
+    private List<PostSummaryResponseDto> findSummariesInOrder(final List<Long> ids) {
+        Map<Long, PostSummaryResponseDto> summaries = postRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(PostSummaryResponseDto::getId, Function.identity()));
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 게시글 수정 메서드
+     * 게시글을 먼저 읽지 않고 "id와 version이 같을 때만 수정"하는 UPDATE 한 번으로 처리한다.
+     * version 없이 요청하면 마지막 수정이 반영된다.
+     *
+     * @return
+     * 수정 성공 시 "Post Update Success"
+     * 다른 요청이 먼저 수정한 경우 현재 버전과 함께 CONFLICT
+     * 게시글이 없는 경우 "Post Update Fail"
+     */
     public ResponseEntity<String> Revise(PostRequestDto postRequestDto) {
-        return postRepository.findById(postRequestDto.getId())
-                .map(post -> {
-                    post.setContent(postRequestDto.getContent());
-                    post.setTitle(postRequestDto.getTitle());
-                    postRepository.save(post);
-                    return new ResponseEntity("Post Update Success", HttpStatus.OK);
-                }).orElse(new ResponseEntity<>("Post Update Fail", HttpStatus.BAD_REQUEST));
+        LocalDateTime now = LocalDateTime.now();
+        Long id = postRequestDto.getId();
+        String title = postRequestDto.getTitle();
+        String content = postRequestDto.getContent();
+        Long version = postRequestDto.getVersion();
+
+        if((version == null ? postRepository.update(id, title, content, now) :
+                postRepository.updateIfVersionMatches(id, version, title, content, now)) > 0){
+            postCache.invalidate(id);
+            postSearchIndex.index(id, title, content);
+            return new ResponseEntity<>("Post Update Success", HttpStatus.OK);
+        }
+        // post에 없으면 PostArchiver가 옮긴 게시글일 수 있다, 옮겨진 게시글은 검색 색인에 넣지 않는다
+        if((version == null ? postArchiveRepository.update(id, title, content, now) :
+                postArchiveRepository.updateIfVersionMatches(id, version, title, content, now)) > 0){
+            postCache.invalidate(id);
+            return new ResponseEntity<>("Post Update Success", HttpStatus.OK);
+        }
+        return postRepository.findVersionById(id)
+                .or(() -> postArchiveRepository.findVersionById(id))
+                .map(current -> new ResponseEntity<>("Post Update Conflict (current version: " + current + ")", HttpStatus.CONFLICT))
+                .orElse(new ResponseEntity<>("Post Update Fail", HttpStatus.BAD_REQUEST));
+    }
+
+    /**
+     * 게시글 삭제 메서드
+     * deletedAt만 기록하며(soft delete), 삭제된 게시글은 PostArchiver가 post_archive로 옮긴다.
+     * 이미 post_archive로 옮겨진 게시글은 그곳에 deletedAt을 기록한다.
+     */
+    public ResponseEntity<String> Remove(final Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if(postRepository.softDelete(id, now) > 0){
+            postSearchIndex.remove(id);
+        } else if(postArchiveRepository.softDelete(id, now) == 0){
+            return new ResponseEntity<>("No Such Post", HttpStatus.NOT_FOUND);
+        }
+        postCache.invalidate(id);
+        return new ResponseEntity<>("Post Delete Success", HttpStatus.OK);
+    }
+
+    public ResponseEntity<Map<String, Long>> ReadCacheStats() {
+        CacheStats stats = postCache.getStats();
+        Map<String, Long> body = new LinkedHashMap<>();
+        body.put("size", postCache.getSize());
+        body.put("hitCount", stats.hitCount());
+        body.put("missCount", stats.missCount());
+        body.put("evictionCount", stats.evictionCount());
+        return new ResponseEntity<>(body, HttpStatus.OK);
     }
 }
@@ -0,0 +1,46 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "noticeboard.session.store", havingValue = "memory")
+public class InMemorySessionStore implements SessionStore {
+
+    private final Map<String, SignInSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(final SignInSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    @Override
+    public Optional<SignInSession> find(final String id) {
+        return Optional.ofNullable(sessions.get(id));
+    }
+
+    @Override
+    public void delete(final String id) {
+        sessions.remove(id);
+    }
+
+    @Override
+    public int deleteByMemberId(final String memberId) {
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.getMemberId().equals(memberId));
+        return before - sessions.size();
+    }
+
+    @Override
+    public int deleteExpired(final LocalDateTime now) {
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.getExpiresAt().isBefore(now));
+        return before - sessions.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import com.jongheon.www.noticeboard.domain.repository.SignInSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "noticeboard.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSessionStore implements SessionStore {
+
+    @Autowired
+    private SignInSessionRepository signInSessionRepository;
+
+    @Override
+    public void save(final SignInSession session) {
+        signInSessionRepository.save(session);
+    }
+
+    // 로그인 직후 요청에서도 세션을 찾을 수 있도록 replica가 아닌 primary에서 읽는다
+    @Override
+    @Transactional
+    public Optional<SignInSession> find(final String id) {
+        return signInSessionRepository.findById(id);
+    }
+
+    @Override
+    public void delete(final String id) {
+        signInSessionRepository.deleteSession(id);
+    }
+
+    @Override
+    public int deleteByMemberId(final String memberId) {
+        return signInSessionRepository.deleteByMemberId(memberId);
+    }
+
+    @Override
+    public int deleteExpired(final LocalDateTime now) {
+        return signInSessionRepository.deleteExpired(now);
+    }
+}
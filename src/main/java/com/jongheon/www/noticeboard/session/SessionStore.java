@@ -0,0 +1,26 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 로그인 상태 저장소
+ * noticeboard.session.store 값으로 구현체를 고른다(jdbc: DB 테이블, memory: 서버 메모리).
+ * 여러 서버를 띄울 때는 모든 서버가 같은 DB를 바라보는 jdbc를 사용해야 한다.
+ */
+public interface SessionStore {
+
+    void save(SignInSession session);
+
+    Optional<SignInSession> find(String id);
+
+    void delete(String id);
+
+    // 비밀번호 변경 등으로 회원의 모든 로그인 상태를 지우고 지운 개수를 반환한다
+    int deleteByMemberId(String memberId);
+
+    // 만료된 로그인 상태를 지우고 지운 개수를 반환한다
+    int deleteExpired(LocalDateTime now);
+}
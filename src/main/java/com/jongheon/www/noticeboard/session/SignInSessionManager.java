@@ -0,0 +1,118 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 컨테이너 HttpSession 대신 쿠키에 담긴 토큰으로 로그인 상태를 관리한다.
+ * 로그인 상태는 SessionStore에 저장되므로 어느 서버로 요청이 가도 같은 결과를 얻는다.
+ * 저장소에는 토큰 대신 토큰의 SHA-256 값을 저장한다.
+ */
+@Slf4j
+@Component
+public class SignInSessionManager {
+
+    public static final String COOKIE_NAME = "NB_SESSION";
+
+    private static final int TOKEN_LENGTH = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${noticeboard.session.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Autowired
+    private SessionStore sessionStore;
+
+    @Autowired
+    private HttpServletRequest request;
+
+    @Autowired
+    private HttpServletResponse response;
+
+    public void signIn(final Member member) {
+        String token = newToken();
+        sessionStore.save(SignInSession.builder()
+                .id(hash(token)).memberId(member.getMemberId()).name(member.getName())
+                .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes)).build());
+
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, token)
+                .httpOnly(true).path("/").sameSite("Lax").maxAge(Duration.ofMinutes(ttlMinutes)).build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    // 이 요청의 로그인 상태를 지우고 쿠키도 지운다
+    public void signOut() {
+        token().map(SignInSessionManager::hash).ifPresent(sessionStore::delete);
+
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, "")
+                .httpOnly(true).path("/").sameSite("Lax").maxAge(Duration.ZERO).build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    // 다른 기기에서 로그인한 상태까지 모두 지운다, 비밀번호를 바꾸면 기존 토큰은 더 이상 쓸 수 없다
+    public int signOutEverywhere(final String memberId) {
+        return sessionStore.deleteByMemberId(memberId);
+    }
+
+    public Optional<SignInSession> current() {
+        return token()
+                .map(SignInSessionManager::hash)
+                .flatMap(sessionStore::find)
+                .filter(session -> session.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${noticeboard.session.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        int deleted = sessionStore.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.debug("Swept {} expired sign-in sessions", deleted);
+    }
+
+    private Optional<String> token() {
+        return Optional.ofNullable(request.getCookies())
+                .flatMap(cookies -> Arrays.stream(cookies)
+                        .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+                        .map(Cookie::getValue)
+                        .findFirst());
+    }
+
+    static String hash(final String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JDK가 SHA-256을 지원해야 한다
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_LENGTH];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,59 @@
+package com.jongheon.www.noticeboard.view;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * index 페이지 렌더러
+ * 회원마다 다른 부분은 상단 메뉴의 회원 이름(fragments/member-nav)뿐이므로,
+ * 나머지 페이지(shell)는 한 번만 렌더링해 두고 요청마다 회원 메뉴만 렌더링하여 끼워 넣는다.
+ * spring.thymeleaf.cache=false 인 경우(개발 환경) 매번 전체를 렌더링하여 템플릿 수정이 바로 반영된다.
+ */
+@Component
+public class IndexPageRenderer {
+
+    private static final String MEMBER_NAV_MARKER = "<!--member-nav-->";
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Value("${spring.thymeleaf.cache:true}")
+    private boolean cache;
+
+    // marker 앞, 뒤로 나눈 shell
+    private volatile String[] shell;
+
+    public String render(final HttpServletRequest request, final HttpServletResponse response, final String name) {
+        String[] page = cache ? shell : null;
+        if (page == null) {
+            page = renderShell(request, response);
+            if (cache) shell = page;
+        }
+        return page[0] + renderMemberNav(request, response, name) + page[1];
+    }
+
+    // 정적 파일 경로(@{...})가 요청과 응답을 통해 만들어지므로 WebContext로 렌더링한다
+    private String[] renderShell(final HttpServletRequest request, final HttpServletResponse response) {
+        String html = templateEngine.process("index",
+                new WebContext(request, response, request.getServletContext(), request.getLocale(),
+                        Map.of("memberNav", MEMBER_NAV_MARKER)));
+        int marker = html.indexOf(MEMBER_NAV_MARKER);
+        if (marker < 0) {
+            throw new IllegalStateException("index template has no memberNav");
+        }
+        return new String[]{html.substring(0, marker), html.substring(marker + MEMBER_NAV_MARKER.length())};
+    }
+
+    private String renderMemberNav(final HttpServletRequest request, final HttpServletResponse response, final String name) {
+        WebContext context = new WebContext(request, response, request.getServletContext(), request.getLocale());
+        context.setVariable("name", name);
+        return templateEngine.process("fragments/member-nav", context);
+    }
+}
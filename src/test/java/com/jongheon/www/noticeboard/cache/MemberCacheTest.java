@@ -0,0 +1,124 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberCacheTest {
+
+    private static final String memberId = "memberId@naver.com";
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private MemberWriteBehind memberWriteBehind;
+
+    @InjectMocks
+    private MemberCache memberCache;
+
+    private final MemberIdFilter memberIdFilter = new MemberIdFilter();
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(memberCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(memberCache, "memberIdFilter", memberIdFilter);
+        memberCache.cachePostConstruct();
+    }
+
+    private Member member() {
+        return Member.builder().memberId(memberId).name("name").password("password").loginFailCnt(0).build();
+    }
+
+    @Test
+    void readThrough() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member()));
+
+        // 처음 조회할 때만 DB에서 읽어오는지 확인
+        assertThat(memberCache.isAlreadyExist(memberId)).isTrue();
+        assertThat(memberCache.isRightLoginInfo(memberId, "password"::equals)).isTrue();
+        verify(memberRepository, times(1)).findById(memberId);
+    }
+
+    @Test
+    void unknownMember() {
+        when(memberRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        assertThat(memberCache.isAlreadyExist("WrongID")).isFalse();
+        assertThat(memberCache.isRightLoginInfo("WrongID", "password"::equals)).isFalse();
+    }
+
+    @Test
+    void rejectedByIdFilter() {
+        ReflectionTestUtils.setField(memberIdFilter, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(memberIdFilter, "expectedInsertions", 100L);
+        ReflectionTestUtils.setField(memberIdFilter, "fpp", 0.01);
+        ReflectionTestUtils.setField(memberIdFilter, "pageSize", 10);
+        when(memberRepository.findIdsAfter(eq(""), any())).thenReturn(List.of(memberId));
+        when(memberRepository.findIdsAfter(eq(memberId), any())).thenReturn(List.of());
+        memberIdFilter.rebuild();
+
+        // filter에 없는 id는 DB를 읽지 않고 거절한다
+        assertThat(memberCache.isAlreadyExist("WrongID")).isFalse();
+        memberCache.addLoginFailCnt("WrongID");
+        verify(memberRepository, never()).findById(anyString());
+
+        // 새로 가입한 회원은 바로 filter에 들어간다
+        Member newMember = Member.builder().memberId("newId@naver.com").name("name").password("password").loginFailCnt(0).build();
+        assertThat(memberCache.addNewMember(newMember)).isTrue();
+        assertThat(memberIdFilter.mightContain("newId@naver.com")).isTrue();
+    }
+
+    @Test
+    void failedSignUpNotCached() {
+        // 다른 서버에서 같은 아이디로 먼저 가입해 INSERT가 실패하면 캐시에 남지 않는다
+        when(memberRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        assertThatThrownBy(() -> memberCache.addNewMember(member())).isInstanceOf(DataIntegrityViolationException.class);
+
+        when(memberRepository.findById(memberId)).thenReturn(Optional.empty());
+        assertThat(memberCache.isAlreadyExist(memberId)).isFalse();
+    }
+
+    @Test
+    void concurrentLoginFail() throws Exception {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member()));
+
+        // 여러 스레드에서 동시에 실패 횟수를 올려도 유실되지 않는지 확인
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(9);
+        for (int i = 0; i < 9; i++) {
+            executor.execute(() -> {
+                memberCache.addLoginFailCnt(memberId);
+                latch.countDown();
+            });
+        }
+        latch.await(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(memberCache.getMemberInfo(memberId).get().getLoginFailCnt()).isEqualTo(9);
+        verify(memberWriteBehind).markLoginFailCnt(memberId, 9);
+        verify(memberRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberCacheWarmUpTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private MemberWriteBehind memberWriteBehind;
+
+    private MemberCache memberCache;
+
+    private MemberCacheWarmUp memberCacheWarmUp;
+
+    @BeforeEach
+    void beforeEach() {
+        memberCache = new MemberCache();
+        ReflectionTestUtils.setField(memberCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(memberCache, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(memberCache, "memberWriteBehind", memberWriteBehind);
+        ReflectionTestUtils.setField(memberCache, "memberIdFilter", new MemberIdFilter());
+        memberCache.cachePostConstruct();
+
+        memberCacheWarmUp = new MemberCacheWarmUp();
+        ReflectionTestUtils.setField(memberCacheWarmUp, "enabled", true);
+        ReflectionTestUtils.setField(memberCacheWarmUp, "chunkSize", 2);
+        ReflectionTestUtils.setField(memberCacheWarmUp, "threads", 2);
+        ReflectionTestUtils.setField(memberCacheWarmUp, "memberCache", memberCache);
+        ReflectionTestUtils.setField(memberCacheWarmUp, "memberRepository", memberRepository);
+    }
+
+    private static Member member(final String id) {
+        return Member.builder().memberId(id).name("name").password("password").loginFailCnt(0).build();
+    }
+
+    @Test
+    void warmUpInChunks() {
+        // a, b | c 두 범위로 나누어 읽는다
+        when(memberRepository.findIdsAfter("", PageRequest.of(1, 1))).thenReturn(List.of("b"));
+        when(memberRepository.findIdsAfter("b", PageRequest.of(1, 1))).thenReturn(List.of());
+        when(memberRepository.findRange("", "b")).thenReturn(List.of(member("a"), member("b")));
+        when(memberRepository.findAfter("b")).thenReturn(List.of(member("c")));
+        when(memberWriteBehind.pendingLoginFailCnt(anyString())).thenReturn(Optional.empty());
+
+        assertThat(memberCacheWarmUp.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        memberCacheWarmUp.warmUp();
+
+        // 다 채운 뒤에는 UP, 캐시에 있으므로 DB를 다시 읽지 않는다
+        assertThat(memberCacheWarmUp.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(memberCacheWarmUp.health().getDetails()).containsEntry("loaded", 3L);
+        assertThat(memberCache.isAlreadyExist("c")).isTrue();
+        verify(memberRepository, never()).findById(anyString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemberIdFilterTest {
+
+    private static final int MEMBER_CNT = 10000;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    private MemberIdFilter memberIdFilter;
+
+    @BeforeEach
+    void beforeEach() {
+        memberIdFilter = new MemberIdFilter();
+        ReflectionTestUtils.setField(memberIdFilter, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(memberIdFilter, "expectedInsertions", (long) MEMBER_CNT);
+        ReflectionTestUtils.setField(memberIdFilter, "fpp", 0.01);
+        ReflectionTestUtils.setField(memberIdFilter, "pageSize", 2);
+    }
+
+    private static String id(final int i) {
+        return "member" + i + "@naver.com";
+    }
+
+    @Test
+    void notBuilt() {
+        // 만들어지기 전에는 모든 id를 DB에서 확인하게 한다
+        assertThat(memberIdFilter.mightContain(id(0))).isTrue();
+    }
+
+    @Test
+    void rebuildInPages() {
+        when(memberRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a", "b"));
+        when(memberRepository.findIdsAfter("b", PageRequest.of(0, 2))).thenReturn(List.of("c"));
+        when(memberRepository.findIdsAfter("c", PageRequest.of(0, 2))).thenReturn(List.of());
+        when(memberRepository.findIdsCreatedSince(any())).thenReturn(List.of("d"));
+        memberIdFilter.rebuild();
+
+        // 복제 지연 동안 가입한 d도 primary에서 다시 읽어 들어간다
+        assertThat(List.of("a", "b", "c", "d")).allMatch(memberIdFilter::mightContain);
+
+        // 탈퇴한 회원은 다시 만들면 빠진다
+        when(memberRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("a", "b"));
+        when(memberRepository.findIdsCreatedSince(any())).thenReturn(List.of());
+        when(memberRepository.findIdsAfter("b", PageRequest.of(0, 2))).thenReturn(List.of());
+        memberIdFilter.rebuild();
+        assertThat(memberIdFilter.mightContain("c")).isFalse();
+    }
+
+    @Test
+    void concurrentPut() throws Exception {
+        when(memberRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of());
+        memberIdFilter.rebuild();
+
+        // 여러 스레드에서 동시에 넣어도 빠지는 id가 없는지 확인
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(MEMBER_CNT);
+        for (int i = 0; i < MEMBER_CNT; i++) {
+            String id = id(i);
+            executor.execute(() -> {
+                memberIdFilter.put(id);
+                latch.countDown();
+            });
+        }
+        latch.await(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(IntStream.range(0, MEMBER_CNT).mapToObj(MemberIdFilterTest::id)).allMatch(memberIdFilter::mightContain);
+        long falsePositives = IntStream.range(MEMBER_CNT, MEMBER_CNT * 2).mapToObj(MemberIdFilterTest::id)
+                .filter(memberIdFilter::mightContain).count();
+        assertThat(falsePositives).isLessThan(MEMBER_CNT / 50);
+    }
+}
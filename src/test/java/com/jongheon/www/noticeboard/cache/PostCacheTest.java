@@ -0,0 +1,95 @@
+package com.jongheon.www.noticeboard.cache;
+
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.repository.PostArchiveRepository;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostCacheTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostArchiveRepository postArchiveRepository;
+
+    private PostCache postCache;
+
+    @BeforeEach
+    void beforeEach() {
+        postCache = new PostCache();
+        ReflectionTestUtils.setField(postCache, "postRepository", postRepository);
+        ReflectionTestUtils.setField(postCache, "postArchiveRepository", postArchiveRepository);
+        ReflectionTestUtils.setField(postCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(postCache, "expireAfterWriteSeconds", 60L);
+        ReflectionTestUtils.setField(postCache, "reinvalidateDelayMs", 50L);
+        postCache.cachePostConstruct();
+    }
+
+    @AfterEach
+    void afterEach() {
+        postCache.cachePreDestroy();
+    }
+
+    private static PostResponseDto post(final String title, final long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PostResponseDto(1L, now, now, title, "content", version);
+    }
+
+    @Test
+    void readPopulates() {
+        when(postRepository.findResponseById(1L)).thenReturn(Optional.of(post("title", 0L)));
+
+        // 처음 읽을 때만 DB에서 읽고, 다음부터는 캐시에서 돌려준다 (peek도 hit으로 센다)
+        assertThat(postCache.getPost(1L)).map(PostResponseDto::getTitle).hasValue("title");
+        assertThat(postCache.getPost(1L)).map(PostResponseDto::getTitle).hasValue("title");
+        assertThat(postCache.peek(1L)).isPresent();
+        verify(postRepository, times(1)).findResponseById(1L);
+
+        assertThat(postCache.getStats().missCount()).isEqualTo(1);
+        assertThat(postCache.getStats().hitCount()).isEqualTo(2);
+        assertThat(postCache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void readArchived() {
+        when(postRepository.findResponseById(1L)).thenReturn(Optional.empty());
+        when(postArchiveRepository.findResponseById(1L)).thenReturn(Optional.of(post("archived", 0L)));
+
+        assertThat(postCache.getPost(1L)).map(PostResponseDto::getTitle).hasValue("archived");
+    }
+
+    @Test
+    void reinvalidateLater() throws Exception {
+        when(postRepository.findResponseById(1L)).thenReturn(Optional.of(post("title", 0L)));
+        postCache.getPost(1L);
+
+        // 수정 전에 시작된 조회가 invalidate 뒤에 이전 게시글을 다시 넣어도
+        postCache.invalidate(1L);
+        assertThat(postCache.peek(1L)).isEmpty();
+        postCache.getPost(1L);
+        assertThat(postCache.peek(1L)).isPresent();
+
+        // reinvalidate-delay-ms 뒤에 한번 더 지운다
+        long deadline = System.currentTimeMillis() + 1000;
+        while (postCache.peek(1L).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(postCache.peek(1L)).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.jongheon.www.noticeboard.cipher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordCipherTest {
+
+    private static final String msg = "memberId@naver.compassword";
+
+    private final SHA256 sha256 = new SHA256();
+
+    private final PBKDF2 pbkdf2 = new PBKDF2();
+
+    private final PasswordCipher passwordCipher = new PasswordCipher();
+
+    @BeforeEach
+    void beforeEach() {
+        ReflectionTestUtils.setField(pbkdf2, "iterations", 1000);
+        ReflectionTestUtils.setField(passwordCipher, "sha256", sha256);
+        ReflectionTestUtils.setField(passwordCipher, "pbkdf2", pbkdf2);
+        ReflectionTestUtils.setField(passwordCipher, "queueCapacity", 16);
+        ReflectionTestUtils.setField(passwordCipher, "timeoutMs", 3000L);
+        passwordCipher.cipherPostConstruct();
+    }
+
+    @AfterEach
+    void afterEach() {
+        passwordCipher.cipherPreDestroy();
+    }
+
+    @Test
+    void sha256() {
+        // 기존 방식(String.format("%02x"))과 같은 값을 만드는지 확인
+        assertThat(sha256.Encrypt("abc")).hasValue("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void pbkdf2() {
+        String encrypted = passwordCipher.Encrypt(msg).get();
+
+        assertThat(encrypted).startsWith("pbkdf2$1000$");
+        assertThat(passwordCipher.matches(msg, encrypted)).isTrue();
+        assertThat(passwordCipher.matches(msg + "wrong", encrypted)).isFalse();
+        assertThat(passwordCipher.needsRehash(encrypted)).isFalse();
+
+        // 반복 횟수를 올리면 다시 암호화 대상이 된다
+        ReflectionTestUtils.setField(pbkdf2, "iterations", 2000);
+        assertThat(passwordCipher.needsRehash(encrypted)).isTrue();
+    }
+
+    @Test
+    void legacySha256() {
+        String encrypted = sha256.Encrypt(msg).get();
+
+        // 기존 SHA256 값도 확인할 수 있고, 다시 암호화 대상이어야 한다
+        assertThat(passwordCipher.matches(msg, encrypted)).isTrue();
+        assertThat(passwordCipher.matches(msg + "wrong", encrypted)).isFalse();
+        assertThat(passwordCipher.needsRehash(encrypted)).isTrue();
+    }
+
+    @Test
+    void timeout() {
+        ReflectionTestUtils.setField(passwordCipher, "timeoutMs", 1L);
+        ReflectionTestUtils.setField(pbkdf2, "iterations", 1_000_000);
+
+        // 비밀번호가 틀린 것(false)과 구분되도록 예외를 던진다
+        assertThatThrownBy(() -> passwordCipher.Encrypt(msg)).isInstanceOf(CipherUnavailableException.class);
+    }
+
+    @Test
+    void hashTimer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordCipher.bindTo(registry);
+
+        // 알고리즘별로 계산 시간이 기록되는지 확인
+        passwordCipher.matches(msg, passwordCipher.Encrypt(msg).get());
+        passwordCipher.matches(msg, sha256.Encrypt(msg).get());
+
+        assertThat(registry.get("noticeboard.password.hash").tag("algorithm", "pbkdf2").timer().count()).isEqualTo(2);
+        assertThat(registry.get("noticeboard.password.hash").tag("algorithm", "sha256").timer().count()).isEqualTo(1);
+    }
+}
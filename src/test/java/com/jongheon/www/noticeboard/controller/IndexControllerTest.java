@@ -0,0 +1,33 @@
+package com.jongheon.www.noticeboard.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.thymeleaf.cache=true")
+@AutoConfigureMockMvc
+class IndexControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void index() throws Exception{
+        // 캐시된 shell을 쓰는 두 번째 요청도 회원 메뉴가 끼워진 전체 페이지인지 확인
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("Jongheon's NoticeBoard")))
+                    .andExpect(content().string(containsString("href=\"/login\"")))
+                    .andExpect(content().string(not(containsString("<!--member-nav-->"))));
+        }
+    }
+}
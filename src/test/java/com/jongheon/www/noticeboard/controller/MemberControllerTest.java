@@ -4,6 +4,7 @@ import com.jongheon.www.noticeboard.cache.MemberCache;
 import com.jongheon.www.noticeboard.cipher.SHA256;
 import com.jongheon.www.noticeboard.domain.entity.Member;
 import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import com.jongheon.www.noticeboard.session.SignInSessionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +17,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // TODO : 변경된 MemberService에 맞게 Test도 업데이트 하기
 // TODO : yml 혹은 properties 파일을 통해 상수 값 사용하기
-@SpringBootTest
+@SpringBootTest(properties = "noticeboard.cache.member.warm-up.enabled=false")
 @AutoConfigureMockMvc
 class MemberControllerTest {
 
@@ -94,6 +96,7 @@ class MemberControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(content().string("로그인 성공"))
+                .andExpect(cookie().exists(SignInSessionManager.COOKIE_NAME))
                 .andReturn();
     }
 
@@ -163,4 +166,34 @@ class MemberControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("존재하지 않는 아이디 입니다"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateRateLimited() throws Exception{
+        String limitedId = "limited@naver.com";
+
+        // 비밀번호 변경도 로그인과 같이 아이디별 시도 횟수가 제한된다
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(put("/member/password")
+                    .param("member_id", limitedId)
+                    .param("member_pwd", "WrongPwd")
+                    .param("change_pwd", changePwd))
+                    .andExpect(status().isNotFound());
+        }
+        mockMvc.perform(put("/member/password")
+                .param("member_id", limitedId)
+                .param("member_pwd", "WrongPwd")
+                .param("change_pwd", changePwd))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void signOut() throws Exception{
+        // 로그인 상태가 없어도 성공하며, 쿠키를 만료시킨다
+        mockMvc.perform(post("/sign_out"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("로그아웃 성공"))
+                .andExpect(cookie().maxAge(SignInSessionManager.COOKIE_NAME, 0));
+    }
+}
@@ -1,23 +1,53 @@
 package com.jongheon.www.noticeboard.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jongheon.www.noticeboard.archive.PostArchiver;
+import com.jongheon.www.noticeboard.cache.PostCache;
+import com.jongheon.www.noticeboard.counter.PostCommentCounter;
+import com.jongheon.www.noticeboard.counter.PostViewCounter;
+import com.jongheon.www.noticeboard.domain.dto.request.CommentRequestDto;
 import com.jongheon.www.noticeboard.domain.dto.request.PostRequestDto;
+import com.jongheon.www.noticeboard.domain.entity.Comment;
+import com.jongheon.www.noticeboard.domain.entity.Post;
+import com.jongheon.www.noticeboard.domain.repository.CommentRepository;
 import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "noticeboard.search.build-on-startup=false",
+        "noticeboard.post.archive.enabled=true",
+        "noticeboard.post.archive.older-than-days=10000",
+        "noticeboard.post.archive.initial-delay-ms=3600000",
+        "noticeboard.cache.member.warm-up.enabled=false"})
 @AutoConfigureMockMvc
 class PostControllerTest {
 
@@ -34,13 +64,42 @@ class PostControllerTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostArchiver postArchiver;
+
+    @Autowired
+    private PostCommentCounter postCommentCounter;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 게시글 요청은 PostExecutor에서 비동기로 처리되므로, 시작을 확인한 뒤 결과를 받아온다
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
     @Test
     void create() throws Exception{
         String ct = objectMapper.writeValueAsString(
                 PostRequestDto.builder().memberId(memberId).title(title).content(content).build());
 
         // 포스팅 기능이 제대로 동작하는지 확인
-        mockMvc.perform(post("/post")
+        performAsync(post("/post")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(ct))
                 .andDo(print())
@@ -48,21 +107,201 @@ class PostControllerTest {
                 .andExpect(content().string("Post Success"));
     }
 
+    @Test
+    void createBatch() throws Exception{
+        String ct = objectMapper.writeValueAsString(List.of(
+                PostRequestDto.builder().memberId(memberId).title(title).content(content).build(),
+                PostRequestDto.builder().memberId(memberId).title("").content(content).build(),
+                PostRequestDto.builder().memberId("WrongId@naver.com").title(title).content(content).build()));
+
+        // 게시글마다 결과가 순서대로 내려오는지 확인
+        mockMvc.perform(post("/post/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ct))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(404));
+    }
+
+    @Test
+    void createBatchNonObject() throws Exception{
+        String post = objectMapper.writeValueAsString(
+                PostRequestDto.builder().memberId(memberId).title(title).content(content).build());
+
+        // 객체가 아닌 원소가 있으면 그 자리에서 BAD_REQUEST, 뒤의 게시글은 저장하지 않는다
+        mockMvc.perform(post("/post/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + post + ", 5, " + post + "]"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(400));
+    }
+
     @Test
     void read() throws Exception{
 
-        MvcResult mvcResult = mockMvc.perform(get("/post?id=2"))
+        performAsync(get("/post?id=2"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andReturn();
     }
 
+    @Test
+    void readNotModified() throws Exception{
+        String eTag = performAsync(get("/post?id=2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 받아둔 ETag로 다시 요청하면 본문 없이 NOT_MODIFIED
+        performAsync(get("/post?id=2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void readCounts() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+
+        // 조회수, 댓글 수는 ETag가 붙는 본문에 들어가지 않는다
+        String eTag = performAsync(get("/post").param("id", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").doesNotExist())
+                .andExpect(jsonPath("$.commentCount").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // 한 주기 전에 모아둔 증가량부터 반영되므로 두 번 반영한다
+        postViewCounter.flush();
+        postViewCounter.flush();
+
+        // 조회수가 올라도 본문은 그대로이므로 NOT_MODIFIED, 조회수는 따로 읽는다
+        performAsync(get("/post").param("id", post.getId().toString()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        performAsync(get("/post/counts").param("id", post.getId().toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.views").value(1))
+                .andExpect(jsonPath("$.commentCount").value(0));
+        performAsync(get("/post/counts").param("id", "-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    private long cacheStat(final String name) throws Exception{
+        return objectMapper.readTree(mockMvc.perform(get("/post/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get(name).asLong();
+    }
+
+    @Test
+    void cacheInvalidatedOnReviseAndRemove() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+        String id = post.getId().toString();
+        long hits = cacheStat("hitCount");
+        long misses = cacheStat("missCount");
+
+        // 처음 읽으면 캐시에 들어가고, 다음 조회는 캐시에서 읽는다
+        performAsync(get("/post").param("id", id)).andExpect(status().isOk());
+        performAsync(get("/post").param("id", id)).andExpect(status().isOk());
+        assertThat(postCache.peek(post.getId())).isPresent();
+        assertThat(cacheStat("missCount") - misses).isEqualTo(1);
+        assertThat(cacheStat("hitCount") - hits).isGreaterThanOrEqualTo(2);
+
+        // 수정하면 캐시에서 빠지고, 다시 읽으면 수정된 게시글이 들어간다
+        performAsync(put("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        PostRequestDto.builder().id(post.getId()).memberId(memberId).title("revised").content(content).build())))
+                .andExpect(status().isOk());
+        assertThat(postCache.peek(post.getId())).isEmpty();
+        performAsync(get("/post").param("id", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("revised"));
+
+        // 삭제하면 캐시에서 빠진다
+        performAsync(delete("/post").param("id", id)).andExpect(status().isOk());
+        assertThat(postCache.peek(post.getId())).isEmpty();
+        performAsync(get("/post").param("id", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void readSingleStatement() throws Exception{
+        postCache.invalidate(2L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 캐시에 없는 글을 읽을 때 작성자(Member)는 읽지 않고 쿼리 한 번만 실행하는지 확인
+        performAsync(get("/post?id=2"))
+                .andDo(print())
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // 캐시에 있는 글은 쿼리를 실행하지 않는다
+        performAsync(get("/post?id=2"))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void list() throws Exception{
+        // 첫 페이지와, 첫 페이지의 마지막 글 다음 페이지를 요청
+        performAsync(get("/post/list").param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts").isArray());
+
+        performAsync(get("/post/list")
+                .param("created_at", "2020-12-01T00:00:00")
+                .param("last_id", "2")
+                .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts").isArray());
+    }
+
+    @Test
+    void search() throws Exception{
+        performAsync(get("/post/search").param("q", title))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts").isArray());
+    }
+
+    @Test
+    void trending() throws Exception{
+        performAsync(get("/post/trending"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void export() throws Exception{
+        // 한 줄에 게시글 하나씩 내려오는지 확인
+        MvcResult mvcResult = mockMvc.perform(get("/post/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        for (String line : mvcResult.getResponse().getContentAsString().split("\n")) {
+            if (line.isEmpty()) continue;
+            assertThat(objectMapper.readTree(line).has("id")).isTrue();
+        }
+    }
+
     @Test
     void update() throws Exception{
         String ct = objectMapper.writeValueAsString(
                 PostRequestDto.builder().id(2L).memberId(memberId).title(title).content("cococo").build());
 
-        mockMvc.perform(put("/post")
+        performAsync(put("/post")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(ct))
                 .andDo(print())
@@ -70,4 +309,118 @@ class PostControllerTest {
                 .andExpect(content().string("Post Update Success"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateConflict() throws Exception{
+        String ct = objectMapper.writeValueAsString(
+                PostRequestDto.builder().id(2L).memberId(memberId).title(title).content("cococo").version(-1L).build());
+
+        // 다른 요청이 먼저 수정하여 버전이 다르면 CONFLICT
+        performAsync(put("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ct))
+                .andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void commentTree() throws Exception{
+        performAsync(post("/post/2/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        CommentRequestDto.builder().memberId(memberId).content("root").build())))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Comment Success"));
+        Comment root = commentRepository.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")))
+                .getContent().get(0);
+
+        performAsync(post("/post/2/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        CommentRequestDto.builder().memberId(memberId).parentId(root.getId()).content("reply").build())))
+                .andExpect(status().isOk());
+
+        // 답글은 부모 댓글의 replies 아래에 붙어서 내려온다
+        String after = root.getPath().substring(0, root.getPath().length() - 1);
+        performAsync(get("/post/2/comments").param("after", after))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].id").value(root.getId()))
+                .andExpect(jsonPath("$.comments[0].replies[0].content").value("reply"));
+    }
+
+    @Test
+    void softDelete() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+
+        performAsync(delete("/post").param("id", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Post Delete Success"));
+
+        // 삭제된 게시글은 조회되지 않고, 다시 삭제할 수도 없다
+        performAsync(get("/post").param("id", post.getId().toString()))
+                .andExpect(status().isNotFound());
+        performAsync(delete("/post").param("id", post.getId().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void readArchived() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+        jdbcTemplate.update("UPDATE post SET created_at = ? WHERE post_id = ?", LocalDateTime.of(1990, 1, 1, 0, 0), post.getId());
+
+        // 오래된 게시글은 post_archive로 옮겨져도 같은 방법으로 조회된다
+        postArchiver.archive();
+        assertThat(postRepository.existsById(post.getId())).isFalse();
+        performAsync(get("/post").param("id", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(title));
+    }
+
+    @Test
+    void commentArchived() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+        jdbcTemplate.update("UPDATE post SET created_at = ? WHERE post_id = ?", LocalDateTime.of(1990, 1, 1, 0, 0), post.getId());
+        postArchiver.archive();
+
+        // post_archive로 옮겨진 게시글에도 댓글을 달 수 있고, 댓글 수는 post_archive에 반영된다
+        performAsync(post("/post/" + post.getId() + "/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        CommentRequestDto.builder().memberId(memberId).content("archived").build())))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Comment Success"));
+        // 한 주기 전에 모아둔 증가량부터 반영되므로 두 번 반영한다
+        postCommentCounter.flush();
+        postCommentCounter.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT comment_count FROM post_archive WHERE post_id = ?",
+                Long.class, post.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    void reviseAndDeleteArchived() throws Exception{
+        Post post = postRepository.save(Post.builder().title(title).content(content).build());
+        jdbcTemplate.update("UPDATE post SET created_at = ? WHERE post_id = ?", LocalDateTime.of(1990, 1, 1, 0, 0), post.getId());
+        postArchiver.archive();
+
+        // post_archive로 옮겨진 게시글도 수정하고 삭제할 수 있다
+        String ct = objectMapper.writeValueAsString(
+                PostRequestDto.builder().id(post.getId()).memberId(memberId).title("archived").content("cococo").build());
+        performAsync(put("/post")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ct))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Post Update Success"));
+        performAsync(get("/post").param("id", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("archived"));
+
+        performAsync(delete("/post").param("id", post.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Post Delete Success"));
+        performAsync(get("/post").param("id", post.getId().toString()))
+                .andExpect(status().isNotFound());
+        performAsync(delete("/post").param("id", post.getId().toString()))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.jongheon.www.noticeboard.counter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostCounterBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void flushOnePeriodLater() {
+        PostCounterBuffer buffer = new PostCounterBuffer(jdbcTemplate, "views");
+        buffer.add(1L, 1L);
+        buffer.add(1L, 1L);
+        buffer.add(2L, 1L);
+
+        // 처음 flush 에서는 맵만 교체하고, 다음 flush 에서 합쳐진 증가량을 한번에 반영한다
+        assertThat(buffer.flush()).isEmpty();
+        assertThat(buffer.flush()).isEqualTo(Map.of(1L, 2L, 2L, 1L));
+        verify(jdbcTemplate, times(1)).batchUpdate(eq("UPDATE post SET views = views + ? WHERE post_id = ?"), anyList());
+    }
+
+    @Test
+    void concurrentAdd() throws Exception {
+        PostCounterBuffer buffer = new PostCounterBuffer(jdbcTemplate, "views");
+
+        // 여러 스레드가 같은 게시글에 더해도 유실되지 않는다
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) buffer.add(1L, 1L);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        buffer.flush();
+        assertThat(buffer.flush()).isEqualTo(Map.of(1L, 8000L));
+    }
+
+    @Test
+    void noLossWhileFlushing() throws Exception {
+        PostCounterBuffer buffer = new PostCounterBuffer(jdbcTemplate, "views");
+
+        // 쉬지 않고 flush 하여 주기를 짧게 만들어도, 더하는 중이던 증가량을 잃지 않는다
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 100_000; j++) buffer.add(1L, 1L);
+            });
+        }
+        executor.shutdown();
+        long flushed = 0;
+        while (!executor.isTerminated()) {
+            flushed += buffer.flush().getOrDefault(1L, 0L);
+        }
+        flushed += buffer.flush().getOrDefault(1L, 0L);
+        flushed += buffer.flush().getOrDefault(1L, 0L);
+        assertThat(flushed).isEqualTo(800_000L);
+    }
+
+    @Test
+    void retryOnFailure() {
+        PostCounterBuffer buffer = new PostCounterBuffer(jdbcTemplate, "views");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        buffer.add(1L, 3L);
+        buffer.flush();
+
+        // 실패한 증가량은 남아있다가 이후 flush 에서 반영된다
+        assertThat(buffer.flush()).isEmpty();
+        buffer.flush();
+        assertThat(buffer.flush()).isEqualTo(Map.of(1L, 3L));
+    }
+
+    @Test
+    void applyToArchive() {
+        PostCounterBuffer buffer = new PostCounterBuffer(jdbcTemplate, "views");
+        // 2번 게시글은 post_archive로 옮겨져 post에는 없다
+        when(jdbcTemplate.batchUpdate(eq("UPDATE post SET views = views + ? WHERE post_id = ?"), anyList()))
+                .thenAnswer(invocation -> {
+                    List<Object[]> args = invocation.getArgument(1);
+                    return args.stream().mapToInt(arg -> arg[1].equals(1L) ? 1 : 0).toArray();
+                });
+        buffer.add(1L, 1L);
+        buffer.add(2L, 5L);
+        buffer.flush();
+
+        assertThat(buffer.flush()).isEqualTo(Map.of(1L, 1L, 2L, 5L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> archived = ArgumentCaptor.forClass((Class) List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE post_archive SET views = views + ? WHERE post_id = ?"), archived.capture());
+        assertThat(archived.getValue()).containsExactly(new Object[][]{{5L, 2L}});
+    }
+}
@@ -0,0 +1,60 @@
+package com.jongheon.www.noticeboard.datasource;
+
+import com.jongheon.www.noticeboard.domain.dto.request.PostRequestDto;
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.entity.Post;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import com.jongheon.www.noticeboard.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// replica는 테이블이 없는 H2 메모리 DB, 게시글 조회가 replica로 가면 실패한다
+@SpringBootTest(properties = {
+        "noticeboard.datasource.routing.enabled=true",
+        "noticeboard.datasource.routing.replica-urls=jdbc:h2:mem:post-read-routing-replica;DB_CLOSE_DELAY=-1",
+        "noticeboard.datasource.routing.lag-query=SELECT 0 AS lag_seconds",
+        "noticeboard.datasource.routing.lag-column=lag_seconds",
+        "noticeboard.search.build-on-startup=false",
+        "noticeboard.post.archive.enabled=false",
+        "noticeboard.cache.member.warm-up.enabled=false",
+        "noticeboard.cache.member.id-filter.enabled=false"})
+class PostReadRoutingTest {
+
+    private static final String replica = "replica-0";
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void reviseThenRead() {
+        Post post = postRepository.save(Post.builder().title("title").content("content").build());
+        ResponseEntity<PostResponseDto> before = postService.ReadById(post.getId(), List.of(), -1);
+        assertThat(before.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        postService.Revise(PostRequestDto.builder().id(post.getId()).memberId("memberId@naver.com")
+                .title("revised").content("content").build());
+        long routedToReplica = routingDataSource.getRoutedCount(replica);
+
+        // 수정 직후의 조회와 조건부 조회 모두 primary에서 읽어 새 게시글을 본다
+        ResponseEntity<PostResponseDto> after = postService.ReadById(post.getId(), List.of(), -1);
+        assertThat(after.getBody().getTitle()).isEqualTo("revised");
+        assertThat(postService.ReadById(post.getId(), List.of(before.getHeaders().getETag()), -1).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(postService.ReadById(post.getId(), List.of(after.getHeaders().getETag()), -1).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(routingDataSource.getRoutedCount(replica)).isEqualTo(routedToReplica);
+    }
+}
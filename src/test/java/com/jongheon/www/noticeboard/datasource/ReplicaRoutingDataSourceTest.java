@@ -0,0 +1,81 @@
+package com.jongheon.www.noticeboard.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 서로 다른 H2 메모리 DB 두 개를 primary, replica로 사용
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    private static DataSource database(final String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE pool_name (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO pool_name VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replication (lag_seconds BIGINT)");
+        jdbcTemplate.update("INSERT INTO replication VALUES (0)");
+        return dataSource;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(database("primary"), Map.of("replica", replica),
+                "SELECT lag_seconds FROM replication", "lag_seconds", 5);
+        routingDataSource.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String poolName(final TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM pool_name", String.class));
+    }
+
+    @Test
+    void routeByReadOnly() {
+        // 읽기 전용 트랜잭션만 replica로 간다
+        assertThat(poolName(readOnly)).isEqualTo("replica");
+        assertThat(poolName(readWrite)).isEqualTo("primary");
+        assertThat(routingDataSource.getRoutedCount("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void fallbackToPrimaryWhenLagging() {
+        new JdbcTemplate(replica).update("UPDATE replication SET lag_seconds = 60");
+        routingDataSource.checkReplicas();
+
+        // 복제 지연이 크면 읽기도 primary로 가고, 지연이 줄면 다시 replica로 간다
+        assertThat(routingDataSource.getHealthyReplicas()).isEmpty();
+        assertThat(poolName(readOnly)).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replication SET lag_seconds = 1");
+        routingDataSource.checkReplicas();
+        assertThat(poolName(readOnly)).isEqualTo("replica");
+    }
+}
@@ -0,0 +1,81 @@
+package com.jongheon.www.noticeboard.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostExecutorTest {
+
+    private PostExecutor postExecutor;
+
+    @BeforeEach
+    void beforeEach() {
+        postExecutor = new PostExecutor();
+        ReflectionTestUtils.setField(postExecutor, "virtualThreads", false);
+        ReflectionTestUtils.setField(postExecutor, "threads", 2);
+        ReflectionTestUtils.setField(postExecutor, "queueCapacity", 2);
+        ReflectionTestUtils.setField(postExecutor, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(postExecutor, "timeoutMs", 50L);
+        postExecutor.executorPostConstruct();
+    }
+
+    @AfterEach
+    void afterEach() {
+        postExecutor.executorPreDestroy();
+    }
+
+    private int availablePermits() {
+        return ((Semaphore) ReflectionTestUtils.getField(postExecutor, "bulkhead")).availablePermits();
+    }
+
+    @Test
+    void permitHeldUntilTaskEnds() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> response = postExecutor.submit(() -> {
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+            return new ResponseEntity<>("done", HttpStatus.OK);
+        });
+
+        // timeout-ms가 지나 응답은 503이지만 작업은 아직 실행 중이므로 자리를 돌려주지 않는다
+        assertThat(response.get(1, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(availablePermits()).isEqualTo(1);
+
+        // 실행 중인 작업이 max-concurrent에 차면 새 요청은 바로 503
+        CountDownLatch second = new CountDownLatch(1);
+        postExecutor.submit(() -> {
+            try {
+                second.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ResponseEntity<>(HttpStatus.OK);
+        });
+        assertThat(postExecutor.submit(() -> new ResponseEntity<>(HttpStatus.OK)).get().getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        blocked.countDown();
+        second.countDown();
+        finished.await(1, TimeUnit.SECONDS);
+        long deadline = System.currentTimeMillis() + 1000;
+        while (availablePermits() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(availablePermits()).isEqualTo(2);
+    }
+}
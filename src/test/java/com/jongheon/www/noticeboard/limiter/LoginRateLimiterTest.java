@@ -0,0 +1,57 @@
+package com.jongheon.www.noticeboard.limiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private static final String memberId = "memberId@naver.com";
+    private static final String ip = "127.0.0.1";
+
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void beforeEach() {
+        loginRateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(loginRateLimiter, "idCapacity", 3);
+        ReflectionTestUtils.setField(loginRateLimiter, "idRefillPeriodSeconds", 60L);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 5);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipRefillPeriodSeconds", 60L);
+        ReflectionTestUtils.setField(loginRateLimiter, "maximumKeys", 100L);
+        loginRateLimiter.limiterPostConstruct();
+    }
+
+    @Test
+    void limitById() {
+        // 같은 아이디로는 capacity 번까지만 시도할 수 있다
+        for (int i = 0; i < 3; i++) {
+            assertThat(loginRateLimiter.tryAcquire(memberId, ip)).isTrue();
+        }
+        assertThat(loginRateLimiter.tryAcquire(memberId, ip)).isFalse();
+        assertThat(loginRateLimiter.getRejectedById()).isEqualTo(1);
+
+        // 다른 아이디는 영향을 받지 않는다
+        assertThat(loginRateLimiter.tryAcquire("other@naver.com", ip)).isTrue();
+    }
+
+    @Test
+    void limitByIp() {
+        // 아이디를 바꿔가며 시도해도 같은 IP는 막힌다
+        for (int i = 0; i < 5; i++) {
+            assertThat(loginRateLimiter.tryAcquire("member" + i + "@naver.com", ip)).isTrue();
+        }
+        assertThat(loginRateLimiter.tryAcquire("member5@naver.com", ip)).isFalse();
+        assertThat(loginRateLimiter.getRejectedByIp()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidConfig() {
+        // capacity가 0이면 시작할 때 실패한다
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 0);
+        assertThatThrownBy(() -> loginRateLimiter.limiterPostConstruct()).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.jongheon.www.noticeboard.search;
+
+import com.jongheon.www.noticeboard.domain.dto.response.PostResponseDto;
+import com.jongheon.www.noticeboard.domain.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.index(1L, "Spring Boot", "JPA and MySQL");
+        postSearchIndex.index(2L, "MySQL tuning", "index and buffer pool");
+        postSearchIndex.index(3L, "공지사항입니다", "게시판 점검 안내");
+    }
+
+    @Test
+    void titleRanksHigher() {
+        // 제목에 나온 게시글이 내용에만 나온 게시글보다 앞선다
+        PostSearchIndex.SearchResult result = postSearchIndex.search("mysql", 0, 10);
+
+        assertThat(result.getIds()).containsExactly(2L, 1L);
+        assertThat(result.getTotalCount()).isEqualTo(2);
+    }
+
+    @Test
+    void hangul() {
+        // 조사가 붙은 단어도 찾을 수 있다
+        assertThat(postSearchIndex.search("공지", 0, 10).getIds()).containsExactly(3L);
+        assertThat(postSearchIndex.search("점검", 0, 10).getIds()).containsExactly(3L);
+    }
+
+    @Test
+    void reviseAndRemove() {
+        // 수정하면 기존 단어는 더 이상 검색되지 않는다
+        postSearchIndex.index(1L, "Spring Boot", "Hibernate");
+        assertThat(postSearchIndex.search("mysql", 0, 10).getIds()).containsExactly(2L);
+
+        postSearchIndex.remove(2L);
+        assertThat(postSearchIndex.search("mysql", 0, 10).getIds()).isEmpty();
+    }
+
+    @Test
+    void pagination() {
+        assertThat(postSearchIndex.search("and", 0, 1).getIds()).hasSize(1);
+        assertThat(postSearchIndex.search("and", 1, 1).getIds()).hasSize(1);
+        assertThat(postSearchIndex.search("and", 2, 1).getIds()).isEmpty();
+    }
+
+    @Test
+    void hugePage() {
+        // 결과보다 뒤의 페이지는 page * size가 int를 넘어도 빈 결과를 돌려준다
+        PostSearchIndex.SearchResult result = postSearchIndex.search("and", 10_000_000, 100);
+        assertThat(result.getIds()).isEmpty();
+        assertThat(result.getTotalCount()).isEqualTo(2);
+
+        assertThat(postSearchIndex.search("and", Integer.MAX_VALUE, 100).getIds()).isEmpty();
+    }
+
+    private static PostResponseDto post(final Long id, final String title, final String content) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PostResponseDto(id, now, now, title, content, 0L);
+    }
+
+    private PostRepository postRepository() {
+        PostRepository postRepository = mock(PostRepository.class);
+        ReflectionTestUtils.setField(postSearchIndex, "postRepository", postRepository);
+        ReflectionTestUtils.setField(postSearchIndex, "buildPageSize", 2);
+        return postRepository;
+    }
+
+    @Test
+    void buildKeepsNewerChanges() {
+        PostRepository postRepository = postRepository();
+        // 전체 색인이 이전 내용을 읽은 뒤에 1번이 수정되고 2번이 삭제된다
+        when(postRepository.findResponsesAfter(0L, PageRequest.of(0, 2))).thenAnswer(invocation -> {
+            postSearchIndex.index(1L, "Spring Boot", "Hibernate");
+            postSearchIndex.remove(2L);
+            return List.of(post(1L, "Spring Boot", "JPA and MySQL"), post(2L, "MySQL tuning", "index and buffer pool"));
+        });
+        when(postRepository.findResponsesAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(post(4L, "MySQL", "replica")));
+        postSearchIndex.build();
+
+        // 먼저 읽어둔 이전 내용으로 덮어쓰지 않는다
+        assertThat(postSearchIndex.search("mysql", 0, 10).getIds()).containsExactly(4L);
+        assertThat(postSearchIndex.search("hibernate", 0, 10).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void syncChanges() {
+        PostRepository postRepository = postRepository();
+        when(postRepository.findResponsesAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of());
+        // 전체 색인을 시작하기 전에는 동기화하지 않는다
+        postSearchIndex.syncChanges();
+        postSearchIndex.build();
+
+        // 다른 서버에서 1번을 수정하고 2번을 삭제했다
+        when(postRepository.findResponsesUpdatedSince(any())).thenReturn(List.of(post(1L, "Spring Boot", "Hibernate")));
+        when(postRepository.findIdsDeletedSince(any())).thenReturn(List.of(2L));
+        postSearchIndex.syncChanges();
+        assertThat(postSearchIndex.search("mysql", 0, 10).getIds()).isEmpty();
+        assertThat(postSearchIndex.search("hibernate", 0, 10).getIds()).containsExactly(1L);
+
+        // 동기화가 읽은 뒤 이 서버에서 수정한 내용은 덮어쓰지 않는다
+        when(postRepository.findResponsesUpdatedSince(any())).thenAnswer(invocation -> {
+            postSearchIndex.index(1L, "Spring Boot", "Caffeine");
+            return List.of(post(1L, "Spring Boot", "Hibernate"));
+        });
+        postSearchIndex.syncChanges();
+        assertThat(postSearchIndex.search("caffeine", 0, 10).getIds()).containsExactly(1L);
+        assertThat(postSearchIndex.search("hibernate", 0, 10).getIds()).isEmpty();
+    }
+}
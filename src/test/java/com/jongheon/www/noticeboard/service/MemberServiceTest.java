@@ -0,0 +1,133 @@
+package com.jongheon.www.noticeboard.service;
+
+import com.jongheon.www.noticeboard.cache.MemberCache;
+import com.jongheon.www.noticeboard.cache.MemberIdFilter;
+import com.jongheon.www.noticeboard.cache.MemberWriteBehind;
+import com.jongheon.www.noticeboard.cipher.PBKDF2;
+import com.jongheon.www.noticeboard.cipher.PasswordCipher;
+import com.jongheon.www.noticeboard.cipher.SHA256;
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.repository.MemberRepository;
+import com.jongheon.www.noticeboard.session.SignInSessionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberServiceTest {
+
+    private static final String memberId = "memberId@naver.com";
+    private static final String password = "password";
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private MemberWriteBehind memberWriteBehind;
+
+    @Mock
+    private SignInSessionManager signInSessionManager;
+
+    @Mock
+    private PBKDF2 pbkdf2;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(2);
+
+    private MemberCache memberCache;
+
+    private PasswordCipher passwordCipher;
+
+    private MemberService memberService;
+
+    @BeforeEach
+    void beforeEach() {
+        memberCache = new MemberCache();
+        ReflectionTestUtils.setField(memberCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(memberCache, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(memberCache, "memberWriteBehind", memberWriteBehind);
+        ReflectionTestUtils.setField(memberCache, "memberIdFilter", new MemberIdFilter());
+        memberCache.cachePostConstruct();
+
+        // 스레드 하나, 대기열 하나짜리 풀
+        passwordCipher = new PasswordCipher();
+        ReflectionTestUtils.setField(passwordCipher, "sha256", new SHA256());
+        ReflectionTestUtils.setField(passwordCipher, "pbkdf2", pbkdf2);
+        ReflectionTestUtils.setField(passwordCipher, "threads", 1);
+        ReflectionTestUtils.setField(passwordCipher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordCipher, "timeoutMs", 5000L);
+        passwordCipher.cipherPostConstruct();
+
+        memberService = new MemberService();
+        ReflectionTestUtils.setField(memberService, "memberCache", memberCache);
+        ReflectionTestUtils.setField(memberService, "passwordCipher", passwordCipher);
+        ReflectionTestUtils.setField(memberService, "signInSessionManager", signInSessionManager);
+    }
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        clients.shutdownNow();
+        passwordCipher.cipherPreDestroy();
+    }
+
+    @Test
+    void cipherSaturated() throws Exception {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(
+                Member.builder().memberId(memberId).name("name").password("pbkdf2$1$salt$hash").loginFailCnt(0).build()));
+        when(pbkdf2.supports(anyString())).thenReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        when(pbkdf2.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        // 실행 중인 작업 하나, 대기 중인 작업 하나로 풀을 채운다
+        clients.execute(() -> passwordCipher.matches("a", "b"));
+        started.await(1, TimeUnit.SECONDS);
+        clients.execute(() -> passwordCipher.matches("a", "b"));
+        long deadline = System.currentTimeMillis() + 1000;
+        while (((ThreadPoolExecutor) ReflectionTestUtils.getField(passwordCipher, "executor"))
+                .getQueue().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // 비밀번호를 확인하지 못했으므로 503이고, 실패 횟수는 그대로다
+        assertThat(memberService.SignIn(memberId, password).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(memberService.ModifyUserInfo(memberId, password, "newPassword").getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(memberCache.getMemberInfo(memberId).get().getLoginFailCnt()).isZero();
+        verify(memberWriteBehind, never()).markLoginFailCnt(anyString(), anyInt());
+        verify(signInSessionManager, never()).signIn(any());
+    }
+
+    @Test
+    void modifyWithWrongPassword() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(
+                Member.builder().memberId(memberId).name("name").password("pbkdf2$1$salt$hash").loginFailCnt(0).build()));
+        when(pbkdf2.supports(anyString())).thenReturn(true);
+        when(pbkdf2.matches(anyString(), anyString())).thenReturn(false);
+
+        // 비밀번호 변경도 로그인처럼 틀리면 실패 횟수를 올린다
+        assertThat(memberService.ModifyUserInfo(memberId, "wrong", "newPassword").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(memberCache.getMemberInfo(memberId).get().getLoginFailCnt()).isEqualTo(1);
+        verify(memberWriteBehind).markLoginFailCnt(memberId, 1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "noticeboard.cache.member.warm-up.enabled=false")
+class JdbcSessionStoreTest {
+
+    private static final String memberId = "session@naver.com";
+
+    @Autowired
+    private JdbcSessionStore sessionStore;
+
+    private static SignInSession session(final String id, final String memberId, final LocalDateTime expiresAt) {
+        return SignInSession.builder().id(id).memberId(memberId).name("name").expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void saveFindDelete() {
+        sessionStore.save(session("jdbc-a", memberId, LocalDateTime.now().plusMinutes(30)));
+        assertThat(sessionStore.find("jdbc-a")).map(SignInSession::getMemberId).hasValue(memberId);
+
+        // 없는 세션을 지워도 예외가 나지 않는다
+        sessionStore.delete("jdbc-a");
+        sessionStore.delete("jdbc-a");
+        assertThat(sessionStore.find("jdbc-a")).isEmpty();
+    }
+
+    @Test
+    void deleteByMemberId() {
+        sessionStore.save(session("jdbc-b", memberId, LocalDateTime.now().plusMinutes(30)));
+        sessionStore.save(session("jdbc-c", memberId, LocalDateTime.now().plusMinutes(30)));
+        sessionStore.save(session("jdbc-d", "other@naver.com", LocalDateTime.now().plusMinutes(30)));
+
+        assertThat(sessionStore.deleteByMemberId(memberId)).isEqualTo(2);
+        assertThat(sessionStore.find("jdbc-b")).isEmpty();
+        assertThat(sessionStore.find("jdbc-d")).isPresent();
+        sessionStore.delete("jdbc-d");
+    }
+
+    @Test
+    void deleteExpired() {
+        sessionStore.save(session("jdbc-e", memberId, LocalDateTime.now().minusMinutes(1)));
+        sessionStore.save(session("jdbc-f", memberId, LocalDateTime.now().plusMinutes(30)));
+
+        assertThat(sessionStore.deleteExpired(LocalDateTime.now())).isGreaterThanOrEqualTo(1);
+        assertThat(sessionStore.find("jdbc-e")).isEmpty();
+        assertThat(sessionStore.find("jdbc-f")).isPresent();
+        sessionStore.delete("jdbc-f");
+    }
+}
@@ -0,0 +1,110 @@
+package com.jongheon.www.noticeboard.session;
+
+import com.jongheon.www.noticeboard.domain.entity.Member;
+import com.jongheon.www.noticeboard.domain.entity.SignInSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.http.Cookie;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignInSessionManagerTest {
+
+    private static final String memberId = "memberId@naver.com";
+
+    private InMemorySessionStore sessionStore;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private SignInSessionManager signInSessionManager;
+
+    @BeforeEach
+    void beforeEach() {
+        sessionStore = new InMemorySessionStore();
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        signInSessionManager = new SignInSessionManager();
+        ReflectionTestUtils.setField(signInSessionManager, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(signInSessionManager, "sessionStore", sessionStore);
+        ReflectionTestUtils.setField(signInSessionManager, "request", request);
+        ReflectionTestUtils.setField(signInSessionManager, "response", response);
+    }
+
+    private static Member member() {
+        return Member.builder().memberId(memberId).name("name").password("password").loginFailCnt(0).build();
+    }
+
+    // 로그인하고 받은 쿠키의 토큰
+    private String signIn() {
+        response = new MockHttpServletResponse();
+        ReflectionTestUtils.setField(signInSessionManager, "response", response);
+        signInSessionManager.signIn(member());
+        return response.getCookie(SignInSessionManager.COOKIE_NAME).getValue();
+    }
+
+    private void useToken(final String token) {
+        request.setCookies(new Cookie(SignInSessionManager.COOKIE_NAME, token));
+    }
+
+    @Test
+    void storesHashedToken() {
+        String token = signIn();
+
+        // 저장소에는 토큰이 아닌 SHA-256 값이 저장되어, 저장된 값으로는 로그인할 수 없다
+        assertThat(sessionStore.find(token)).isEmpty();
+        assertThat(sessionStore.find(SignInSessionManager.hash(token))).isPresent();
+
+        useToken(token);
+        assertThat(signInSessionManager.current()).map(SignInSession::getMemberId).hasValue(memberId);
+        useToken(SignInSessionManager.hash(token));
+        assertThat(signInSessionManager.current()).isEmpty();
+    }
+
+    @Test
+    void signOut() {
+        String token = signIn();
+        useToken(token);
+
+        // 로그인 상태를 지우고 쿠키도 만료시킨다
+        signInSessionManager.signOut();
+        assertThat(signInSessionManager.current()).isEmpty();
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE))
+                .anyMatch(cookie -> cookie.startsWith(SignInSessionManager.COOKIE_NAME + "=;") && cookie.contains("Max-Age=0"));
+    }
+
+    @Test
+    void signOutEverywhere() {
+        String first = signIn();
+        String second = signIn();
+        sessionStore.save(SignInSession.builder().id("other").memberId("other@naver.com").name("name")
+                .expiresAt(LocalDateTime.now().plusMinutes(30)).build());
+
+        // 비밀번호를 바꾸면 그 회원의 모든 토큰을 더 이상 쓸 수 없다
+        assertThat(signInSessionManager.signOutEverywhere(memberId)).isEqualTo(2);
+        useToken(first);
+        assertThat(signInSessionManager.current()).isEmpty();
+        useToken(second);
+        assertThat(signInSessionManager.current()).isEmpty();
+        assertThat(sessionStore.find("other")).isPresent();
+    }
+
+    @Test
+    void sweepExpired() {
+        sessionStore.save(SignInSession.builder().id("expired").memberId(memberId).name("name")
+                .expiresAt(LocalDateTime.now().minusMinutes(1)).build());
+        sessionStore.save(SignInSession.builder().id("live").memberId(memberId).name("name")
+                .expiresAt(LocalDateTime.now().plusMinutes(30)).build());
+
+        signInSessionManager.sweepExpired();
+        assertThat(sessionStore.find("expired")).isEmpty();
+        assertThat(sessionStore.find("live")).isPresent();
+    }
+}